@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.batch.item.database.support.DefaultDataFieldMaxValueIncrementerFactory;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.dao.JdbcTaskExecutionDao;
+import org.springframework.cloud.task.repository.dao.TaskExecutionDao;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Creates the embedded databases and task executions used by the benchmarks.
+ */
+public final class BenchmarkDatabases {
+
+	/**
+	 * The number of distinct task names the generated executions are spread across.
+	 */
+	public static final int TASK_NAME_COUNT = 10;
+
+	private BenchmarkDatabases() {
+	}
+
+	/**
+	 * Creates an embedded database with the task schema installed.
+	 *
+	 * @param database the embedded database to create, either {@code H2} or {@code HSQL}.
+	 * @return the embedded database.
+	 */
+	public static EmbeddedDatabase createDatabase(String database) {
+		EmbeddedDatabaseType type = EmbeddedDatabaseType.valueOf(database);
+		String script = (type == EmbeddedDatabaseType.H2) ? "schema-h2.sql" : "schema-hsqldb.sql";
+		return new EmbeddedDatabaseBuilder()
+				.setName(UUID.randomUUID().toString())
+				.setType(type)
+				.addScript("classpath:org/springframework/cloud/task/" + script)
+				.build();
+	}
+
+	/**
+	 * Creates a {@link JdbcTaskExecutionDao} for an embedded database created by
+	 * {@link #createDatabase(String)}.
+	 *
+	 * @param dataSource the embedded database the dao reads and writes.
+	 * @param database the type of the embedded database, either {@code H2} or {@code HSQL}.
+	 * @return the task execution dao.
+	 */
+	public static JdbcTaskExecutionDao createDao(EmbeddedDatabase dataSource, String database) {
+		JdbcTaskExecutionDao dao = new JdbcTaskExecutionDao(dataSource);
+		dao.setTaskIncrementer(new DefaultDataFieldMaxValueIncrementerFactory(dataSource)
+				.getIncrementer(database, "TASK_SEQ"));
+		return dao;
+	}
+
+	/**
+	 * Saves the requested number of completed task executions, spread across
+	 * {@link #TASK_NAME_COUNT} task names, each with the requested number of parameters.
+	 *
+	 * @param dao the dao the task executions are saved with.
+	 * @param executionCount the number of task executions to save.
+	 * @param parameterCount the number of parameters of each task execution.
+	 */
+	public static void populate(TaskExecutionDao dao, int executionCount, int parameterCount) {
+		long startTime = System.currentTimeMillis() - executionCount * 1000L;
+		for (int i = 0; i < executionCount; i++) {
+			TaskExecution taskExecution = createTaskExecution(dao.getNextExecutionId(),
+					taskName(i), new Date(startTime + i * 1000L), parameterCount);
+			taskExecution.setEndTime(new Date(startTime + i * 1000L + 500L));
+			dao.saveTaskExecution(taskExecution);
+		}
+	}
+
+	/**
+	 * Creates a running task execution with the requested number of parameters.
+	 *
+	 * @param executionId the id of the task execution.
+	 * @param taskName the name of the task.
+	 * @param startTime the start time of the task execution.
+	 * @param parameterCount the number of parameters of the task execution.
+	 * @return the task execution.
+	 */
+	public static TaskExecution createTaskExecution(long executionId, String taskName,
+			Date startTime, int parameterCount) {
+		List<String> parameters = new ArrayList<>(parameterCount);
+		for (int i = 0; i < parameterCount; i++) {
+			parameters.add("--param" + i + "=value" + i);
+		}
+		return new TaskExecution(executionId, 0, taskName, startTime, null, null, parameters);
+	}
+
+	/**
+	 * Returns the task name used for the execution at the given index.
+	 *
+	 * @param index the index of the task execution.
+	 * @return the task name.
+	 */
+	public static String taskName(int index) {
+		return "task" + (index % TASK_NAME_COUNT);
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.dao.JdbcTaskExecutionDao;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+/**
+ * Benchmarks the {@link JdbcTaskExecutionDao} against embedded H2 and HSQL databases
+ * holding a varying number of task executions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdbcTaskExecutionDaoBenchmarks {
+
+	private static final int PAGE_SIZE = 20;
+
+	@Param({"H2", "HSQL"})
+	private String database;
+
+	@Param({"1000", "10000"})
+	private int tableSize;
+
+	@Param({"0", "500"})
+	private int offset;
+
+	@Param({"5", "100"})
+	private int parameterCount;
+
+	private EmbeddedDatabase dataSource;
+
+	private JdbcTaskExecutionDao dao;
+
+	private TaskExecution runningTaskExecution;
+
+	@Setup
+	public void setup() {
+		dataSource = BenchmarkDatabases.createDatabase(database);
+		dao = BenchmarkDatabases.createDao(dataSource, database);
+		BenchmarkDatabases.populate(dao, tableSize, parameterCount);
+		runningTaskExecution = BenchmarkDatabases.createTaskExecution(
+				dao.getNextExecutionId(), "running", new Date(), parameterCount);
+		dao.saveTaskExecution(runningTaskExecution);
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.shutdown();
+	}
+
+	@Benchmark
+	public TaskExecution saveTaskExecution() {
+		TaskExecution taskExecution = BenchmarkDatabases.createTaskExecution(
+				dao.getNextExecutionId(), "saved", new Date(), parameterCount);
+		dao.saveTaskExecution(taskExecution);
+		return taskExecution;
+	}
+
+	@Benchmark
+	public TaskExecution updateTaskExecution() {
+		runningTaskExecution.setExitMessage("updated " + System.nanoTime());
+		dao.updateTaskExecution(runningTaskExecution);
+		return runningTaskExecution;
+	}
+
+	@Benchmark
+	public TaskExecution getTaskExecution() {
+		return dao.getTaskExecution(runningTaskExecution.getExecutionId());
+	}
+
+	@Benchmark
+	public Page<TaskExecution> findAll() {
+		return dao.findAll(new PageRequest(offset / PAGE_SIZE, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public Page<TaskExecution> findTaskExecutionsByName() {
+		return dao.findTaskExecutionsByName(BenchmarkDatabases.taskName(0),
+				new PageRequest(offset / PAGE_SIZE / BenchmarkDatabases.TASK_NAME_COUNT, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public Page<TaskExecution> findRunningTaskExecutions() {
+		return dao.findRunningTaskExecutions("running", new PageRequest(0, PAGE_SIZE));
+	}
+}
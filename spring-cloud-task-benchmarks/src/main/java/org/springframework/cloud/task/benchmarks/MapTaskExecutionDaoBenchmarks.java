@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.benchmarks;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.dao.MapTaskExecutionDao;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Benchmarks the {@link MapTaskExecutionDao} holding a varying number of task
+ * executions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapTaskExecutionDaoBenchmarks {
+
+	private static final int PAGE_SIZE = 20;
+
+	@Param({"1000", "100000"})
+	private int tableSize;
+
+	@Param({"0", "500"})
+	private int offset;
+
+	private MapTaskExecutionDao dao;
+
+	private TaskExecution runningTaskExecution;
+
+	@Setup
+	public void setup() {
+		dao = new MapTaskExecutionDao();
+		BenchmarkDatabases.populate(dao, tableSize, 5);
+		runningTaskExecution = BenchmarkDatabases.createTaskExecution(
+				dao.getNextExecutionId(), BenchmarkDatabases.taskName(0), new Date(), 5);
+		dao.saveTaskExecution(runningTaskExecution);
+	}
+
+	@Benchmark
+	public TaskExecution updateTaskExecution() {
+		runningTaskExecution.setExitMessage("updated " + System.nanoTime());
+		dao.updateTaskExecution(runningTaskExecution);
+		return runningTaskExecution;
+	}
+
+	@Benchmark
+	public long getTaskExecutionCountByTaskName() {
+		return dao.getTaskExecutionCountByTaskName(BenchmarkDatabases.taskName(0));
+	}
+
+	@Benchmark
+	public long getRunningTaskExecutionCountByTaskName() {
+		return dao.getRunningTaskExecutionCountByTaskName(BenchmarkDatabases.taskName(0));
+	}
+
+	@Benchmark
+	public List<String> getTaskNames() {
+		return dao.getTaskNames();
+	}
+
+	@Benchmark
+	public Page<TaskExecution> findAll() {
+		return dao.findAll(new PageRequest(offset / PAGE_SIZE, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public Page<TaskExecution> findTaskExecutionsByName() {
+		return dao.findTaskExecutionsByName(BenchmarkDatabases.taskName(0),
+				new PageRequest(offset / PAGE_SIZE / BenchmarkDatabases.TASK_NAME_COUNT, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public Page<TaskExecution> findRunningTaskExecutions() {
+		return dao.findRunningTaskExecutions(BenchmarkDatabases.taskName(0),
+				new PageRequest(0, PAGE_SIZE));
+	}
+}
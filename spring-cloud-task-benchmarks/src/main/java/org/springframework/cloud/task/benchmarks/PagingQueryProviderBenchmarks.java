@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.benchmarks;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.database.Order;
+import org.springframework.cloud.task.repository.dao.JdbcTaskExecutionDao;
+import org.springframework.cloud.task.repository.database.PagingQueryProvider;
+import org.springframework.cloud.task.repository.database.support.SqlPagingQueryProviderFactoryBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+/**
+ * Benchmarks the creation of {@link PagingQueryProvider}s by the
+ * {@link SqlPagingQueryProviderFactoryBean} and the generation of page queries for
+ * each supported database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagingQueryProviderBenchmarks {
+
+	@Param({"H2", "HSQL", "MYSQL", "ORACLE", "POSTGRES"})
+	private String databaseType;
+
+	private EmbeddedDatabase dataSource;
+
+	private Map<String, Order> sortKeys;
+
+	private PagingQueryProvider pagingQueryProvider;
+
+	private Pageable pageable = new PageRequest(25, 20);
+
+	@Setup
+	public void setup() throws Exception {
+		dataSource = BenchmarkDatabases.createDatabase("H2");
+		sortKeys = new TreeMap<>();
+		sortKeys.put("START_TIME", Order.DESCENDING);
+		sortKeys.put("TASK_EXECUTION_ID", Order.DESCENDING);
+		pagingQueryProvider = createPagingQueryProvider();
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.shutdown();
+	}
+
+	@Benchmark
+	public PagingQueryProvider createPagingQueryProvider() throws Exception {
+		SqlPagingQueryProviderFactoryBean factoryBean = new SqlPagingQueryProviderFactoryBean();
+		factoryBean.setDataSource(dataSource);
+		factoryBean.setDatabaseType(databaseType);
+		factoryBean.setSelectClause(JdbcTaskExecutionDao.SELECT_CLAUSE);
+		factoryBean.setFromClause(JdbcTaskExecutionDao.FROM_CLAUSE);
+		factoryBean.setWhereClause("TASK_NAME = ?");
+		factoryBean.setSortKeys(sortKeys);
+		return factoryBean.getObject();
+	}
+
+	@Benchmark
+	public String getPageQuery() {
+		return pagingQueryProvider.getPageQuery(pageable);
+	}
+
+	@Benchmark
+	public String getKeysetPageQuery() {
+		return pagingQueryProvider.getKeysetPageQuery();
+	}
+}
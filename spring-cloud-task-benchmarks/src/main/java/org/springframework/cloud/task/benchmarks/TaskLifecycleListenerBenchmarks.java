@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.cloud.task.listener.TaskLifecycleListener;
+import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.cloud.task.repository.dao.MapTaskExecutionDao;
+import org.springframework.cloud.task.repository.dao.TaskExecutionDao;
+import org.springframework.cloud.task.repository.support.SimpleTaskNameResolver;
+import org.springframework.cloud.task.repository.support.SimpleTaskRepository;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+/**
+ * Benchmarks the overhead the {@link TaskLifecycleListener} adds to the start and end
+ * of a task for the map and JDBC based repositories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskLifecycleListenerBenchmarks {
+
+	@Param({"MAP", "H2", "HSQL"})
+	private String repository;
+
+	@Param({"0", "50"})
+	private int argumentCount;
+
+	private EmbeddedDatabase dataSource;
+
+	private TaskRepository taskRepository;
+
+	private ApplicationArguments applicationArguments;
+
+	private GenericApplicationContext applicationContext;
+
+	private SimpleTaskNameResolver taskNameResolver;
+
+	@Setup
+	public void setup() {
+		TaskExecutionDao dao;
+		if ("MAP".equals(repository)) {
+			dao = new MapTaskExecutionDao();
+		}
+		else {
+			dataSource = BenchmarkDatabases.createDatabase(repository);
+			dao = BenchmarkDatabases.createDao(dataSource, repository);
+		}
+		taskRepository = new SimpleTaskRepository(dao);
+		String[] args = new String[argumentCount];
+		for (int i = 0; i < argumentCount; i++) {
+			args[i] = "--param" + i + "=value" + i;
+		}
+		applicationArguments = new SourceApplicationArguments(args);
+		applicationContext = new GenericApplicationContext();
+		taskNameResolver = new SimpleTaskNameResolver();
+		taskNameResolver.setConfiguredName("benchmark");
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (dataSource != null) {
+			dataSource.shutdown();
+		}
+	}
+
+	@Benchmark
+	public TaskLifecycleListener startAndEndTask() {
+		TaskLifecycleListener listener = new TaskLifecycleListener(taskRepository,
+				taskNameResolver, applicationArguments);
+		listener.onApplicationEvent(new ContextRefreshedEvent(applicationContext));
+		listener.onApplicationEvent(new ContextClosedEvent(applicationContext));
+		return listener;
+	}
+
+	/**
+	 * Exposes the arguments as source arguments, which is all the listener uses.
+	 */
+	private static class SourceApplicationArguments implements ApplicationArguments {
+
+		private final String[] args;
+
+		SourceApplicationArguments(String[] args) {
+			this.args = args;
+		}
+
+		@Override
+		public String[] getSourceArgs() {
+			return args;
+		}
+
+		@Override
+		public Set<String> getOptionNames() {
+			return Collections.emptySet();
+		}
+
+		@Override
+		public boolean containsOption(String name) {
+			return false;
+		}
+
+		@Override
+		public List<String> getOptionValues(String name) {
+			return null;
+		}
+
+		@Override
+		public List<String> getNonOptionArgs() {
+			return Arrays.asList(args);
+		}
+	}
+}
@@ -26,10 +26,12 @@ import org.springframework.cloud.task.repository.TaskExplorer;
 import org.springframework.cloud.task.repository.TaskRepository;
 import org.springframework.cloud.task.repository.dao.JdbcTaskExecutionDao;
 import org.springframework.cloud.task.repository.dao.MapTaskExecutionDao;
+import org.springframework.cloud.task.repository.support.DatabaseDialect;
 import org.springframework.cloud.task.repository.support.JdbcTaskExplorerFactoryBean;
 import org.springframework.cloud.task.repository.support.JdbcTaskRepositoryFactoryBean;
 import org.springframework.cloud.task.repository.support.MapTaskExplorerFactoryBean;
 import org.springframework.cloud.task.repository.support.MapTaskRepositoryFactoryBean;
+import org.springframework.cloud.task.repository.support.SimpleTaskExplorer;
 import org.springframework.cloud.task.repository.support.SimpleTaskRepository;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -42,6 +44,9 @@ import org.springframework.transaction.PlatformTransactionManager;
  * <li>{@link SimpleTaskRepository} is the default {@link TaskRepository} returned.
  * If a data source is present then a data will be stored in the database {@link JdbcTaskExecutionDao} else it will
  * be stored in a map {@link MapTaskExecutionDao}.
+ * <li>{@link SimpleTaskExplorer} is the default {@link TaskExplorer} returned.  It reads
+ * from the explorer data source if one is provided (for example a read replica of the
+ * task repository's database) and otherwise from the same store as the repository.
  * </ul>
  *
  * @author Glenn Renfro
@@ -52,18 +57,45 @@ public class DefaultTaskConfigurer implements TaskConfigurer {
 
 	private DataSource dataSource;
 
+	private DataSource explorerDataSource;
+
 	private TaskRepository taskRepository;
 
 	private TaskExplorer taskExplorer;
 
 	private PlatformTransactionManager transactionManager;
 
+	private DatabaseDialect databaseDialect;
+
 	public DefaultTaskConfigurer(){
 		initialize();
 	}
 
 	public DefaultTaskConfigurer(DataSource dataSource) {
+		this(dataSource, dataSource);
+	}
+
+	/**
+	 * @param dataSource the data source task executions are written to.
+	 * @param explorerDataSource the data source task executions are read from by the
+	 * {@link TaskExplorer}.
+	 */
+	public DefaultTaskConfigurer(DataSource dataSource, DataSource explorerDataSource) {
+		this(dataSource, explorerDataSource, null);
+	}
+
+	/**
+	 * @param dataSource the data source task executions are written to.
+	 * @param explorerDataSource the data source task executions are read from by the
+	 * {@link TaskExplorer}.
+	 * @param databaseDialect the dialect of the database behind the data source task
+	 * executions are written to, if null it is read from the data source's metadata.
+	 */
+	public DefaultTaskConfigurer(DataSource dataSource, DataSource explorerDataSource,
+			DatabaseDialect databaseDialect) {
 		this.dataSource = dataSource;
+		this.explorerDataSource = (explorerDataSource != null) ? explorerDataSource : dataSource;
+		this.databaseDialect = databaseDialect;
 		initialize();
 	}
 
@@ -95,11 +127,18 @@ public class DefaultTaskConfigurer implements TaskConfigurer {
 
 		}
 		else {
+			if (databaseDialect == null) {
+				databaseDialect = DatabaseDialect.resolve(dataSource);
+			}
 			JdbcTaskRepositoryFactoryBean jdbcTaskRepositoryFactoryBean =
 					new JdbcTaskRepositoryFactoryBean(dataSource);
+			jdbcTaskRepositoryFactoryBean.setDatabaseDialect(databaseDialect);
 			taskRepository = jdbcTaskRepositoryFactoryBean.getObject();
 			JdbcTaskExplorerFactoryBean jdbcTaskExplorerFactoryBean =
-					new JdbcTaskExplorerFactoryBean(dataSource);
+					new JdbcTaskExplorerFactoryBean(explorerDataSource);
+			if (explorerDataSource == dataSource) {
+				jdbcTaskExplorerFactoryBean.setDatabaseDialect(databaseDialect);
+			}
 			taskExplorer = jdbcTaskExplorerFactoryBean.getObject();
 			transactionManager = new DataSourceTransactionManager(dataSource);
 		}
@@ -17,6 +17,8 @@
 package org.springframework.cloud.task.configuration;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
 
 import javax.annotation.PostConstruct;
 import javax.sql.DataSource;
@@ -28,16 +30,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.cloud.task.listener.TaskLifecycleListener;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.cloud.task.repository.TaskMetricsRecorder;
 import org.springframework.cloud.task.repository.TaskNameResolver;
 import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.cloud.task.repository.support.AsyncTaskRepository;
+import org.springframework.cloud.task.repository.support.CacheInvalidatingTaskRepository;
+import org.springframework.cloud.task.repository.support.CachingTaskExplorer;
+import org.springframework.cloud.task.repository.support.DatabaseDialect;
+import org.springframework.cloud.task.repository.support.InstrumentedTaskExplorer;
+import org.springframework.cloud.task.repository.support.InstrumentedTaskRepository;
 import org.springframework.cloud.task.repository.support.SimpleTaskNameResolver;
 import org.springframework.cloud.task.repository.support.TaskDatabaseInitializer;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DeferredImportSelector;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.util.StringUtils;
 
 /**
  * Base {@code Configuration} class providing common structure for enabling and using
@@ -48,6 +62,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  */
 @Configuration
 @EnableTransactionManagement
+@Import(SimpleTaskConfiguration.TaskExplorerConfigurationImportSelector.class)
 public class SimpleTaskConfiguration {
 
 	protected static final Log logger = LogFactory.getLog(SimpleTaskConfiguration.class);
@@ -55,22 +70,60 @@ public class SimpleTaskConfiguration {
 	@Autowired
 	private ApplicationContext context;
 
-	@Autowired(required = false)
-	private Collection<DataSource> dataSources;
-
 	@Autowired
 	private ResourceLoader resourceLoader;
 
 	@Autowired(required = false)
 	private ApplicationArguments applicationArguments;
 
+	@Autowired(required = false)
+	private TaskMetricsRecorder taskMetricsRecorder;
+
 	@Value("${spring.class.initialize.enable:true}")
 	private boolean taskInitializationEnable;
 
+	@Value("${spring.cloud.task.deferred-start:false}")
+	private boolean deferredStart;
+
+	@Value("${spring.cloud.task.deferred-start-timeout:" + TaskLifecycleListener.DEFAULT_DEFERRED_START_TIMEOUT + "}")
+	private long deferredStartTimeout;
+
+	@Value("${spring.cloud.task.async-repository.enabled:false}")
+	private boolean asyncRepositoryEnabled;
+
+	@Value("${spring.cloud.task.async-repository.capacity:" + AsyncTaskRepository.DEFAULT_CAPACITY + "}")
+	private int asyncRepositoryCapacity;
+
+	@Value("${spring.cloud.task.async-repository.flush-timeout:" + AsyncTaskRepository.DEFAULT_FLUSH_TIMEOUT + "}")
+	private long asyncRepositoryFlushTimeout;
+
+	@Value("${spring.cloud.task.explorer-cache.enabled:false}")
+	private boolean explorerCacheEnabled;
+
+	@Value("${spring.cloud.task.explorer-cache.max-completed-executions:" + CachingTaskExplorer.DEFAULT_MAX_COMPLETED_EXECUTIONS + "}")
+	private int explorerCacheMaxCompletedExecutions;
+
+	@Value("${spring.cloud.task.explorer-cache.count-time-to-live:" + CachingTaskExplorer.DEFAULT_COUNT_TIME_TO_LIVE + "}")
+	private long explorerCacheCountTimeToLive;
+
+	@Value("${spring.cloud.task.explorer-cache.running-executions-time-to-live:" + CachingTaskExplorer.DEFAULT_RUNNING_EXECUTIONS_TIME_TO_LIVE + "}")
+	private long explorerCacheRunningExecutionsTimeToLive;
+
+	@Value("${spring.cloud.task.explorer-cache.task-names-time-to-live:" + CachingTaskExplorer.DEFAULT_TASK_NAMES_TIME_TO_LIVE + "}")
+	private long explorerCacheTaskNamesTimeToLive;
+
+	@Value("${spring.cloud.task.repository-datasource:}")
+	private String repositoryDataSourceName;
+
+	@Value("${spring.cloud.task.explorer-datasource:}")
+	private String explorerDataSourceName;
+
 	private boolean initialized = false;
 
 	private TaskRepository taskRepository;
 
+	private TaskExplorer taskExplorer;
+
 	private TaskConfigurer configurer;
 
 	private PlatformTransactionManager transactionManager;
@@ -82,7 +135,11 @@ public class SimpleTaskConfiguration {
 
 	@Bean
 	public TaskLifecycleListener taskLifecycleListener() {
-		return new TaskLifecycleListener(taskRepository(), taskNameResolver(), this.applicationArguments);
+		TaskLifecycleListener taskLifecycleListener = new TaskLifecycleListener(taskRepository(),
+				taskNameResolver(), this.applicationArguments);
+		taskLifecycleListener.setDeferredStart(deferredStart);
+		taskLifecycleListener.setDeferredStartTimeout(deferredStartTimeout);
+		return taskLifecycleListener;
 	}
 
 	@Bean
@@ -111,12 +168,38 @@ public class SimpleTaskConfiguration {
 		logger.debug(String.format("Using %s TaskConfigurer",
 				configurer.getClass().getName()));
 		taskRepository = configurer.getTaskRepository();
+		taskExplorer = configurer.getTaskExplorer();
+		if (taskMetricsRecorder != null) {
+			logger.debug("Recording task repository metrics");
+			taskRepository = new InstrumentedTaskRepository(taskRepository, taskMetricsRecorder);
+			if (taskExplorer != null) {
+				taskExplorer = new InstrumentedTaskExplorer(taskExplorer, taskMetricsRecorder);
+			}
+		}
+		if (explorerCacheEnabled && taskExplorer != null) {
+			logger.debug("Caching task explorer results");
+			CachingTaskExplorer cachingTaskExplorer = new CachingTaskExplorer(taskExplorer);
+			cachingTaskExplorer.setMaxCompletedExecutions(explorerCacheMaxCompletedExecutions);
+			cachingTaskExplorer.setCountTimeToLive(explorerCacheCountTimeToLive);
+			cachingTaskExplorer.setRunningExecutionsTimeToLive(
+					explorerCacheRunningExecutionsTimeToLive);
+			cachingTaskExplorer.setTaskNamesTimeToLive(explorerCacheTaskNamesTimeToLive);
+			taskExplorer = cachingTaskExplorer;
+			taskRepository = new CacheInvalidatingTaskRepository(taskRepository, cachingTaskExplorer);
+		}
+		if (asyncRepositoryEnabled) {
+			logger.debug("Recording task executions asynchronously");
+			AsyncTaskRepository asyncTaskRepository = new AsyncTaskRepository(taskRepository);
+			asyncTaskRepository.setCapacity(asyncRepositoryCapacity);
+			asyncTaskRepository.setFlushTimeout(asyncRepositoryFlushTimeout);
+			taskRepository = asyncTaskRepository;
+		}
 		transactionManager = configurer.getTransactionManager();
 		initialized = true;
 	}
 
 	private TaskConfigurer getDefaultConfigurer(Collection<TaskConfigurer> configurers) {
-		boolean isDataSourceConfigured = (dataSources != null && !dataSources.isEmpty());
+		boolean isDataSourceConfigured = !context.getBeansOfType(DataSource.class).isEmpty();
 		verifyEnvironment(configurers);
 		if (configurers == null || configurers.isEmpty()) {
 			if (!isDataSourceConfigured) {
@@ -124,12 +207,23 @@ public class SimpleTaskConfiguration {
 				return this.configurer;
 			}
 			else {
-				DataSource dataSource = dataSources.iterator().next();
+				DataSource dataSource = getRepositoryDataSource();
+				DataSource explorerDataSource = dataSource;
+				if (StringUtils.hasText(explorerDataSourceName)) {
+					logger.debug(String.format("Reading task executions from the %s DataSource",
+							explorerDataSourceName));
+					explorerDataSource = context.getBean(explorerDataSourceName, DataSource.class);
+				}
+				// Read the dialect once so that the schema initializer, the repository
+				// and the explorer do not each query the database's metadata.
+				DatabaseDialect databaseDialect = DatabaseDialect.resolve(dataSource);
 				if(taskInitializationEnable) {
 					logger.debug("Initializing Task Schema");
-					TaskDatabaseInitializer.initializeDatabase(dataSource, resourceLoader);
+					TaskDatabaseInitializer.initializeDatabase(dataSource, resourceLoader,
+							databaseDialect);
 				}
-				this.configurer = new DefaultTaskConfigurer(dataSource);
+				this.configurer = new DefaultTaskConfigurer(dataSource, explorerDataSource,
+						databaseDialect);
 				return this.configurer;
 			}
 		}
@@ -137,15 +231,56 @@ public class SimpleTaskConfiguration {
 		return this.configurer;
 	}
 
-	private void verifyEnvironment(Collection configurers){
-		if (dataSources != null && dataSources.size() > 1) {
-			throw new IllegalStateException("To use the default TaskConfigurer the context must contain no more than" +
-					"one DataSource, found " + dataSources.size());
+	/**
+	 * Retrieves the DataSource task executions are written to, either the one named by
+	 * {@code spring.cloud.task.repository-datasource} or the only DataSource other than
+	 * the explorer's.
+	 */
+	private DataSource getRepositoryDataSource() {
+		if (StringUtils.hasText(repositoryDataSourceName)) {
+			return context.getBean(repositoryDataSourceName, DataSource.class);
 		}
+		Map<String, DataSource> candidates =
+				new TreeMap<>(context.getBeansOfType(DataSource.class));
+		if (StringUtils.hasText(explorerDataSourceName) && candidates.size() > 1) {
+			candidates.remove(explorerDataSourceName);
+		}
+		if (candidates.size() > 1) {
+			throw new IllegalStateException("To use the default TaskConfigurer the context must contain no more than " +
+					"one DataSource besides the one named by spring.cloud.task.explorer-datasource, " +
+					"or spring.cloud.task.repository-datasource must name the DataSource to use, found " +
+					candidates.size() + " " + candidates.keySet());
+		}
+		return candidates.values().iterator().next();
+	}
+
+	private void verifyEnvironment(Collection configurers){
 		if (configurers.size() > 1) {
 			throw new IllegalStateException(
 					"To use a custom TaskConfigurer the context must contain precisely one, found "
 							+ configurers.size());
 		}
 	}
+
+	/**
+	 * Returns the {@link TaskExplorer} provided by the {@link TaskConfigurer}, wrapped
+	 * as configured.
+	 */
+	TaskExplorer getTaskExplorer() {
+		return taskExplorer;
+	}
+
+	/**
+	 * Imports the {@link TaskExplorerConfiguration} once every other configuration
+	 * class has been processed, so that a {@link TaskExplorer} defined by the
+	 * application, including one declared alongside {@link EnableTask}, is visible to
+	 * its condition.
+	 */
+	static class TaskExplorerConfigurationImportSelector implements DeferredImportSelector {
+
+		@Override
+		public String[] selectImports(AnnotationMetadata importingClassMetadata) {
+			return new String[] {TaskExplorerConfiguration.class.getName()};
+		}
+	}
 }
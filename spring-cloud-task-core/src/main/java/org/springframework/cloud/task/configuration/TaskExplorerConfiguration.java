@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.configuration;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the {@link TaskExplorer} provided by the {@link TaskConfigurer} unless the
+ * application defines its own.  Imported by {@link SimpleTaskConfiguration} after every
+ * other configuration class has been processed, so that the condition sees the
+ * application's beans.
+ */
+@Configuration
+class TaskExplorerConfiguration {
+
+	@Autowired
+	private SimpleTaskConfiguration taskConfiguration;
+
+	/**
+	 * Declared as a {@link FactoryBean} with no type argument so that the bean's type is
+	 * only known once the {@link TaskConfigurer} has been consulted, and no bean is
+	 * exposed when it provides no {@link TaskExplorer}.
+	 */
+	@Bean
+	@ConditionalOnMissingBean(TaskExplorer.class)
+	public FactoryBean<?> taskExplorer() {
+		return new TaskExplorerFactoryBean(taskConfiguration.getTaskExplorer());
+	}
+
+	private static class TaskExplorerFactoryBean implements FactoryBean<TaskExplorer> {
+
+		private final TaskExplorer taskExplorer;
+
+		TaskExplorerFactoryBean(TaskExplorer taskExplorer) {
+			this.taskExplorer = taskExplorer;
+		}
+
+		@Override
+		public TaskExplorer getObject() {
+			return taskExplorer;
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return (taskExplorer != null) ? TaskExplorer.class : null;
+		}
+
+		@Override
+		public boolean isSingleton() {
+			return true;
+		}
+	}
+}
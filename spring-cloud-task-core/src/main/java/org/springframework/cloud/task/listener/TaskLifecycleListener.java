@@ -21,6 +21,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +40,8 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.util.Assert;
 
 /**
@@ -57,6 +64,12 @@ import org.springframework.util.Assert;
  */
 public class TaskLifecycleListener implements ApplicationListener<ApplicationEvent>{
 
+	/**
+	 * The default number of milliseconds the end of the task waits for a deferred start
+	 * to be recorded.
+	 */
+	public static final long DEFAULT_DEFERRED_START_TIMEOUT = 30000;
+
 	private final static Logger logger = LoggerFactory.getLogger(TaskLifecycleListener.class);
 
 	private final TaskRepository taskRepository;
@@ -73,6 +86,14 @@ public class TaskLifecycleListener implements ApplicationListener<ApplicationEve
 
 	private ExitCodeEvent exitCodeEvent;
 
+	private boolean deferredStart = false;
+
+	private Future<TaskExecution> deferredTaskExecution;
+
+	private AsyncTaskExecutor deferredStartExecutor;
+
+	private long deferredStartTimeout = DEFAULT_DEFERRED_START_TIMEOUT;
+
 	/**
 	 * @param taskRepository The repository to record executions in.
 	 */
@@ -85,6 +106,48 @@ public class TaskLifecycleListener implements ApplicationListener<ApplicationEve
 		this.taskRepository = taskRepository;
 		this.taskNameResolver = taskNameResolver;
 		this.applicationArguments = applicationArguments;
+
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("task-start-");
+		executor.setDaemon(true);
+		this.deferredStartExecutor = executor;
+	}
+
+	/**
+	 * Sets whether the start of the task is recorded in the background.  When enabled,
+	 * the execution id is reserved and the start of the task is written to the
+	 * {@link TaskRepository} on a separate thread so that the
+	 * {@link ContextRefreshedEvent} (and the runners that follow it) are not delayed by
+	 * the repository.  The end of the task is always recorded after the start has been
+	 * written.  Defaults to false.
+	 *
+	 * @param deferredStart true if the start of the task should be recorded in the
+	 * background
+	 */
+	public void setDeferredStart(boolean deferredStart) {
+		this.deferredStart = deferredStart;
+	}
+
+	/**
+	 * Sets the executor the deferred start of the task is recorded with.  Defaults to
+	 * a {@link SimpleAsyncTaskExecutor} running a daemon thread named
+	 * {@code task-start-}.
+	 *
+	 * @param deferredStartExecutor the executor recording the deferred start
+	 */
+	public void setDeferredStartExecutor(AsyncTaskExecutor deferredStartExecutor) {
+		Assert.notNull(deferredStartExecutor, "A deferredStartExecutor is required");
+		this.deferredStartExecutor = deferredStartExecutor;
+	}
+
+	/**
+	 * Sets the number of milliseconds the end of the task waits for a deferred start to
+	 * be recorded.  If the start has not been recorded by then, the end of the task is
+	 * not recorded.  Defaults to {@link #DEFAULT_DEFERRED_START_TIMEOUT}.
+	 *
+	 * @param deferredStartTimeout the timeout in milliseconds
+	 */
+	public void setDeferredStartTimeout(long deferredStartTimeout) {
+		this.deferredStartTimeout = deferredStartTimeout;
 	}
 
 	/**
@@ -115,6 +178,32 @@ public class TaskLifecycleListener implements ApplicationListener<ApplicationEve
 		}
 	}
 
+	/**
+	 * Waits for the deferred start of the task to be written.
+	 *
+	 * @return true if the start was recorded, false if it failed or timed out.
+	 */
+	private boolean awaitDeferredStart() {
+		try {
+			this.taskExecution = this.deferredTaskExecution.get(this.deferredStartTimeout,
+					TimeUnit.MILLISECONDS);
+			return true;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.error("Interrupted while waiting for the start of the task to be recorded.", e);
+		}
+		catch (ExecutionException e) {
+			logger.error("The start of the task could not be recorded, the end of the task " +
+					"will not be recorded.", e.getCause());
+		}
+		catch (TimeoutException e) {
+			logger.error(String.format("The start of the task was not recorded within %d ms, " +
+					"the end of the task will not be recorded.", this.deferredStartTimeout));
+		}
+		return false;
+	}
+
 	private String stackTraceToString(Throwable exception) {
 		StringWriter writer = new StringWriter();
 		PrintWriter printWriter = new PrintWriter(writer);
@@ -126,7 +215,11 @@ public class TaskLifecycleListener implements ApplicationListener<ApplicationEve
 
 	private void doTaskEnd() {
 		if(started) {
-			this.taskExecution.setEndTime(new Date());
+			Date endTime = new Date();
+			if(this.deferredTaskExecution != null && !awaitDeferredStart()) {
+				return;
+			}
+			this.taskExecution.setEndTime(endTime);
 
 			if(this.exitCodeEvent != null) {
 				this.taskExecution.setExitCode(exitCodeEvent.getExitCode());
@@ -159,11 +252,28 @@ public class TaskLifecycleListener implements ApplicationListener<ApplicationEve
 				args = Arrays.asList(this.applicationArguments.getSourceArgs());
 			}
 
-			this.taskExecution = new TaskExecution(this.taskRepository.getNextExecutionId(),
-					0, this.taskNameResolver.getTaskName(), new Date(), null, null,
-					args);
+			if(this.deferredStart) {
+				final String taskName = this.taskNameResolver.getTaskName();
+				final Date startTime = new Date();
+				final List<String> taskArgs = args;
+				this.deferredTaskExecution = this.deferredStartExecutor.submit(new Callable<TaskExecution>() {
+					@Override
+					public TaskExecution call() throws Exception {
+						TaskExecution taskExecution = new TaskExecution(
+								taskRepository.getNextExecutionId(), 0, taskName, startTime,
+								null, null, taskArgs);
+						taskRepository.createTaskExecution(taskExecution);
+						return taskExecution;
+					}
+				});
+			}
+			else {
+				this.taskExecution = new TaskExecution(this.taskRepository.getNextExecutionId(),
+						0, this.taskNameResolver.getTaskName(), new Date(), null, null,
+						args);
 
-			this.taskRepository.createTaskExecution(this.taskExecution);
+				this.taskRepository.createTaskExecution(this.taskExecution);
+			}
 		}
 		else {
 			logger.error("Multiple start events have been received.  The first one was " +
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.task.repository;
+
+/**
+ * Callback interface used by {@link TaskExplorer#forEachTaskExecution} to process
+ * task executions one at a time as they are read from the task repository.
+ */
+public interface TaskExecutionCallback {
+
+	/**
+	 * Processes a single task execution.  Implementations should not retain
+	 * references to the task executions they are handed if the scan is expected to
+	 * run in constant memory.  An exception thrown by this method ends the scan.
+	 *
+	 * @param taskExecution the task execution read from the task repository
+	 */
+	void processTaskExecution(TaskExecution taskExecution);
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.task.repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -36,6 +38,15 @@ public interface TaskExplorer {
 	 */
 	public TaskExecution getTaskExecution(long executionId);
 
+	/**
+	 * Retrieve the {@link TaskExecution}s with the ids provided.
+	 *
+	 * @param executionIds the task execution ids
+	 * @return the task executions found, in the order of the ids provided.  Ids that
+	 * have no task execution are skipped.
+	 */
+	public List<TaskExecution> getTaskExecutions(Collection<Long> executionIds);
+
 
 	/**
 	 * Retrieve a collection of taskExecutions that have the task name provided.
@@ -86,4 +97,43 @@ public interface TaskExplorer {
 	 */
 	public Page<TaskExecution> findAll(Pageable pageable);
 
+	/**
+	 * Retrieves the task executions that follow the last one read, sorted by start date
+	 * descending, taskExecution id descending.  Unlike {@link #findAll(Pageable)} the
+	 * cost of retrieving a page does not grow with its position.
+	 * Task executions without a start time are not returned.
+	 *
+	 * @param lastStartTime the start time of the last task execution read, or null to
+	 * retrieve the first page
+	 * @param lastExecutionId the id of the last task execution read
+	 * @param pageSize the maximum number of task executions to be returned
+	 * @return the task executions that follow the last one read
+	 */
+	public List<TaskExecution> findAllAfter(Date lastStartTime, long lastExecutionId, int pageSize);
+
+	/**
+	 * Retrieves the task executions for a task name that follow the last one read,
+	 * sorted by start date descending, taskExecution id descending.  Task executions
+	 * without a start time are not returned.
+	 *
+	 * @param taskName the name of the task to be searched
+	 * @param lastStartTime the start time of the last task execution read, or null to
+	 * retrieve the first page
+	 * @param lastExecutionId the id of the last task execution read
+	 * @param pageSize the maximum number of task executions to be returned
+	 * @return the task executions that follow the last one read
+	 */
+	public List<TaskExecution> findTaskExecutionsByNameAfter(String taskName,
+			Date lastStartTime, long lastExecutionId, int pageSize);
+
+	/**
+	 * Hands every task execution to the callback, sorted by start date descending,
+	 * taskExecution id descending.  The task executions are streamed from the task
+	 * repository rather than collected, so the memory used does not grow with the
+	 * number of task executions.
+	 *
+	 * @param callback the callback each task execution is handed to
+	 */
+	public void forEachTaskExecution(TaskExecutionCallback callback);
+
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.task.repository;
+
+/**
+ * Strategy interface for recording the latency and outcome of task repository and
+ * task explorer operations, allowing them to be published to a metrics registry.
+ */
+public interface TaskMetricsRecorder {
+
+	/**
+	 * Records a single invocation of a repository or explorer operation.
+	 *
+	 * @param operation the name of the operation, for example {@code createTaskExecution}
+	 * @param taskName the name of the task the operation applied to, or null if the
+	 * operation is not specific to a task
+	 * @param daoType the type of the dao backing the repository or explorer, for example
+	 * {@code JdbcTaskExecutionDao}
+	 * @param durationNanos the time taken by the operation in nanoseconds
+	 * @param success false if the operation threw an exception
+	 */
+	void record(String operation, String taskName, String daoType, long durationNanos,
+			boolean success);
+}
@@ -16,31 +16,56 @@
 
 package org.springframework.cloud.task.repository.dao;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.sql.DataSource;
 
 import org.springframework.batch.item.database.Order;
 import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExecutionCallback;
 import org.springframework.cloud.task.repository.database.PagingQueryProvider;
 import org.springframework.cloud.task.repository.database.support.SqlPagingQueryProviderFactoryBean;
+import org.springframework.cloud.task.repository.database.support.SqlPagingQueryUtils;
+import org.springframework.cloud.task.repository.support.DatabaseDialect;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -62,6 +87,8 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 
 	public static final String TASK_NAME_WHERE_CLAUSE = "where TASK_NAME = ? ";
 
+	private static final String KEYSET_WHERE_CLAUSE = "START_TIME IS NOT NULL ";
+
 	private static final String SAVE_TASK_EXECUTION = "INSERT into %PREFIX%EXECUTION"
 			+ "(TASK_EXECUTION_ID, START_TIME, END_TIME, "
 			+ "TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED)"
@@ -70,21 +97,68 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 	private static final String CREATE_TASK_PARAMETER = "INSERT into "
 			+ "%PREFIX%EXECUTION_PARAMS(TASK_EXECUTION_ID, TASK_PARAM ) values (?, ?)";
 
-	private static final String CHECK_TASK_EXECUTION_EXISTS = "SELECT COUNT(*) FROM "
-			+ "%PREFIX%EXECUTION WHERE TASK_EXECUTION_ID = ?";
-
 	private static final String UPDATE_TASK_EXECUTION = "UPDATE %PREFIX%EXECUTION set "
 			+ "START_TIME = ?, END_TIME = ?, TASK_NAME = ?, EXIT_CODE = ?, "
 			+ "EXIT_MESSAGE = ?, LAST_UPDATED = ? "
 			+ "where TASK_EXECUTION_ID = ?";
 
-	private static final String GET_EXECUTION_BY_ID = "SELECT TASK_EXECUTION_ID, " +
-			"START_TIME, END_TIME, TASK_NAME, EXIT_CODE, "
+	/**
+	 * A single task execution joined with its parameters.
+	 */
+	private static final String GET_EXECUTION_WITH_PARAMS_BY_ID = "SELECT E.TASK_EXECUTION_ID, "
+			+ "E.START_TIME, E.END_TIME, E.TASK_NAME, E.EXIT_CODE, E.EXIT_MESSAGE, "
+			+ "E.LAST_UPDATED, P.TASK_EXECUTION_ID AS PARAM_EXECUTION_ID, P.TASK_PARAM "
+			+ "from %PREFIX%EXECUTION E left outer join %PREFIX%EXECUTION_PARAMS P "
+			+ "on E.TASK_EXECUTION_ID = P.TASK_EXECUTION_ID "
+			+ "where E.TASK_EXECUTION_ID = ?";
+
+	private static final String GET_EXECUTIONS_BY_IDS = "SELECT TASK_EXECUTION_ID, "
+			+ "START_TIME, END_TIME, TASK_NAME, EXIT_CODE, "
 			+ "EXIT_MESSAGE, LAST_UPDATED "
-			+ "from %PREFIX%EXECUTION where TASK_EXECUTION_ID = ?";
+			+ "from %PREFIX%EXECUTION where TASK_EXECUTION_ID in (:taskExecutionIds)";
+
+	private static final String FIND_PARAMS_FROM_IDS = "SELECT TASK_EXECUTION_ID, "
+			+ "TASK_PARAM from %PREFIX%EXECUTION_PARAMS where TASK_EXECUTION_ID in (:taskExecutionIds)";
+
+	/**
+	 * Every task execution joined with its parameters.  Rows are ordered by execution
+	 * id within a start time so the parameters of an execution are contiguous.
+	 */
+	private static final String FIND_ALL_WITH_PARAMS = "SELECT E.TASK_EXECUTION_ID, "
+			+ "E.START_TIME, E.END_TIME, E.TASK_NAME, E.EXIT_CODE, E.EXIT_MESSAGE, "
+			+ "E.LAST_UPDATED, P.TASK_EXECUTION_ID AS PARAM_EXECUTION_ID, P.TASK_PARAM "
+			+ "from %PREFIX%EXECUTION E left outer join %PREFIX%EXECUTION_PARAMS P "
+			+ "on E.TASK_EXECUTION_ID = P.TASK_EXECUTION_ID "
+			+ "order by E.START_TIME DESC, E.TASK_EXECUTION_ID DESC";
+
+	private static final String FIND_COMPLETED_IDS_STARTED_BEFORE = "SELECT TASK_EXECUTION_ID "
+			+ "from %PREFIX%EXECUTION where START_TIME < ? AND END_TIME IS NOT NULL "
+			+ "order by START_TIME, TASK_EXECUTION_ID";
+
+	private static final String FIND_OLDEST_COMPLETED_IDS_BY_NAME = "SELECT TASK_EXECUTION_ID "
+			+ "from %PREFIX%EXECUTION where TASK_NAME = ? AND END_TIME IS NOT NULL "
+			+ "order by START_TIME, TASK_EXECUTION_ID";
+
+	private static final String FIND_COMPLETED_IDS_FROM_IDS = "SELECT TASK_EXECUTION_ID "
+			+ "from %PREFIX%EXECUTION where TASK_EXECUTION_ID in (:taskExecutionIds) "
+			+ "AND END_TIME IS NOT NULL";
+
+	private static final String ARCHIVE_TASK_EXECUTIONS = "INSERT into %PREFIX%EXECUTION_ARCHIVE"
+			+ "(TASK_EXECUTION_ID, START_TIME, END_TIME, TASK_NAME, EXIT_CODE, EXIT_MESSAGE, "
+			+ "LAST_UPDATED) SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, TASK_NAME, "
+			+ "EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED from %PREFIX%EXECUTION "
+			+ "where TASK_EXECUTION_ID in (:taskExecutionIds)";
+
+	private static final String ARCHIVE_TASK_PARAMS = "INSERT into "
+			+ "%PREFIX%EXECUTION_PARAMS_ARCHIVE(TASK_EXECUTION_ID, TASK_PARAM) "
+			+ "SELECT TASK_EXECUTION_ID, TASK_PARAM from %PREFIX%EXECUTION_PARAMS "
+			+ "where TASK_EXECUTION_ID in (:taskExecutionIds)";
 
-	private static final String FIND_PARAMS_FROM_ID = "SELECT TASK_EXECUTION_ID, "
-			+ "TASK_PARAM from %PREFIX%EXECUTION_PARAMS where TASK_EXECUTION_ID = ?";
+	private static final String DELETE_TASK_PARAMS = "DELETE from %PREFIX%EXECUTION_PARAMS "
+			+ "where TASK_EXECUTION_ID in (:taskExecutionIds)";
+
+	private static final String DELETE_TASK_EXECUTIONS = "DELETE from %PREFIX%EXECUTION "
+			+ "where TASK_EXECUTION_ID in (:taskExecutionIds)";
 
 	private static final String TASK_EXECUTION_COUNT = "SELECT COUNT(*) FROM " +
 			"%PREFIX%EXECUTION ";
@@ -95,23 +169,123 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 	private static final String RUNNING_TASK_EXECUTION_COUNT_BY_NAME = "SELECT COUNT(*) FROM " +
 			"%PREFIX%EXECUTION where TASK_NAME = ? AND END_TIME IS NULL ";
 
+	private static final String GET_EXECUTION_STATE_BY_ID = "SELECT TASK_NAME, END_TIME "
+			+ "from %PREFIX%EXECUTION where TASK_EXECUTION_ID = ?";
+
+	private static final String FIND_TASK_NAME_COUNTS_FROM_IDS = "SELECT TASK_NAME, "
+			+ "COUNT(*) AS EXECUTION_COUNT "
+			+ "from %PREFIX%EXECUTION where TASK_EXECUTION_ID in (:taskExecutionIds) "
+			+ "AND TASK_NAME IS NOT NULL group by TASK_NAME";
+
+	private static final String CREATE_SUMMARY = "INSERT into %PREFIX%SUMMARY(TASK_NAME, "
+			+ "EXECUTION_COUNT, RUNNING_COUNT, LAST_START_TIME, LAST_EXIT_CODE) "
+			+ "values (?, ?, ?, NULL, NULL)";
+
+	private static final String UPDATE_SUMMARY_COUNTS = "UPDATE %PREFIX%SUMMARY set "
+			+ "EXECUTION_COUNT = EXECUTION_COUNT + ?, RUNNING_COUNT = RUNNING_COUNT + ? "
+			+ "where TASK_NAME = ?";
+
+	private static final String UPDATE_SUMMARY_LAST_EXECUTION = "UPDATE %PREFIX%SUMMARY set "
+			+ "LAST_START_TIME = ?, LAST_EXIT_CODE = ? where TASK_NAME = ? "
+			+ "AND (LAST_START_TIME IS NULL OR LAST_START_TIME <= ?)";
+
+	private static final String DELETE_EMPTY_SUMMARY = "DELETE from %PREFIX%SUMMARY "
+			+ "where TASK_NAME = ? AND EXECUTION_COUNT = 0";
+
+	private static final String SUMMARY_EXECUTION_COUNT_BY_NAME = "SELECT EXECUTION_COUNT "
+			+ "from %PREFIX%SUMMARY where TASK_NAME = ?";
+
+	private static final String SUMMARY_RUNNING_COUNT_BY_NAME = "SELECT RUNNING_COUNT "
+			+ "from %PREFIX%SUMMARY where TASK_NAME = ?";
+
+	private static final String SUMMARY_EXECUTION_COUNT = "SELECT SUM(EXECUTION_COUNT) "
+			+ "from %PREFIX%SUMMARY";
+
+	private static final String UNNAMED_TASK_EXECUTION_COUNT = "SELECT COUNT(*) "
+			+ "from %PREFIX%EXECUTION where TASK_NAME IS NULL";
+
+	private static final String SUMMARY_TASK_NAMES = "SELECT TASK_NAME from %PREFIX%SUMMARY "
+			+ "order by TASK_NAME";
+
+	private static final String SUMMARY_ROW_COUNT = "SELECT COUNT(*) from %PREFIX%SUMMARY";
+
+	private static final String FIND_NAMED_EXECUTION_ID = "SELECT TASK_EXECUTION_ID "
+			+ "from %PREFIX%EXECUTION where TASK_NAME IS NOT NULL";
+
+	private static final String DELETE_SUMMARY = "DELETE from %PREFIX%SUMMARY";
+
+	/**
+	 * Locks the rows of the schema version table until the end of the transaction, so
+	 * that only one process at a time checks whether the summary table needs to be
+	 * populated.
+	 */
+	private static final String LOCK_SUMMARY_POPULATION = "UPDATE %PREFIX%SCHEMA_VERSION "
+			+ "set VERSION = VERSION";
+
+	private static final String POPULATE_SUMMARY = "INSERT into %PREFIX%SUMMARY(TASK_NAME, "
+			+ "EXECUTION_COUNT, RUNNING_COUNT, LAST_START_TIME, LAST_EXIT_CODE) "
+			+ "SELECT S.TASK_NAME, S.EXECUTION_COUNT, S.RUNNING_COUNT, S.LAST_START_TIME, "
+			+ "(SELECT MAX(E.EXIT_CODE) from %PREFIX%EXECUTION E where E.TASK_NAME = S.TASK_NAME "
+			+ "AND E.START_TIME = S.LAST_START_TIME AND E.END_TIME IS NOT NULL) "
+			+ "from (SELECT TASK_NAME, COUNT(*) EXECUTION_COUNT, "
+			+ "SUM(CASE WHEN END_TIME IS NULL THEN 1 ELSE 0 END) RUNNING_COUNT, "
+			+ "MAX(START_TIME) LAST_START_TIME from %PREFIX%EXECUTION "
+			+ "where TASK_NAME IS NOT NULL group by TASK_NAME) S";
+
 	final String FIND_TASK_NAMES = "SELECT distinct TASK_NAME from %PREFIX%EXECUTION order by TASK_NAME";
 
 	private static final String DEFAULT_TABLE_PREFIX = "TASK_";
 
+	/**
+	 * Maximum number of execution ids bound into a single parameters query.  Kept below
+	 * the 1000 element limit Oracle imposes on in lists.
+	 */
+	private static final int DEFAULT_PARAMETER_QUERY_CHUNK_SIZE = 900;
+
+	public static final int DEFAULT_PARAMETER_BATCH_SIZE = 100;
+
+	public static final int DEFAULT_FETCH_SIZE = 100;
+
 	private String tablePrefix = DEFAULT_TABLE_PREFIX;
 
 	private JdbcOperations jdbcTemplate;
 
+	private TransactionTemplate transactionTemplate;
+
+	private int parameterBatchSize = DEFAULT_PARAMETER_BATCH_SIZE;
+
+	private int fetchSize = DEFAULT_FETCH_SIZE;
+
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
 	private DataSource dataSource;
 
 	private Map<String, Order> orderMap;
 
 	private DataFieldMaxValueIncrementer taskIncrementer;
 
+	private volatile DatabaseDialect databaseDialect;
+
+	private boolean countWithPageQuery;
+
+	private boolean useSummaryTable;
+
+	private volatile boolean summaryPopulated;
+
+	private boolean deferredJoinPaging;
+
+	/**
+	 * Initialized paging query providers keyed by the shape of the query they generate.
+	 */
+	private final ConcurrentMap<String, PagingQueryProvider> pagingQueryProviders =
+			new ConcurrentHashMap<>();
+
 	public JdbcTaskExecutionDao(DataSource dataSource) {
 		Assert.notNull(dataSource);
 		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
+		this.transactionTemplate = new TransactionTemplate(
+				new DataSourceTransactionManager(dataSource));
 		this.dataSource = dataSource;
 		orderMap = new TreeMap<>();
 		orderMap.put("START_TIME", Order.DESCENDING);
@@ -119,36 +293,85 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 	}
 
 	@Override
-	public void saveTaskExecution(TaskExecution taskExecution) {
-		Object[] parameters = new Object[]{ taskExecution.getExecutionId(),
-				taskExecution.getStartTime(), taskExecution.getEndTime(),
-				taskExecution.getTaskName(), taskExecution.getExitCode(),
-				taskExecution.getExitMessage(), new Date()};
-		jdbcTemplate.update(
-				getQuery(SAVE_TASK_EXECUTION),
-				parameters,
-				new int[]{ Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP,
-						Types.VARCHAR, Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP });
-		insertTaskParameters(taskExecution.getExecutionId(), taskExecution.getParameters());
+	public void saveTaskExecution(final TaskExecution taskExecution) {
+		if (useSummaryTable) {
+			populateSummaryIfEmpty();
+		}
+		transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+			@Override
+			protected void doInTransactionWithoutResult(TransactionStatus status) {
+				Object[] parameters = new Object[]{ taskExecution.getExecutionId(),
+						taskExecution.getStartTime(), taskExecution.getEndTime(),
+						taskExecution.getTaskName(), taskExecution.getExitCode(),
+						taskExecution.getExitMessage(), new Date()};
+				jdbcTemplate.update(
+						getQuery(SAVE_TASK_EXECUTION),
+						parameters,
+						new int[]{ Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP,
+								Types.VARCHAR, Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP });
+				insertTaskParameters(taskExecution.getExecutionId(), taskExecution.getParameters());
+				if (useSummaryTable) {
+					adjustSummary(status, taskExecution.getTaskName(), 1,
+							(taskExecution.getEndTime() == null) ? 1 : 0);
+					updateSummaryLastExecution(taskExecution);
+				}
+			}
+		});
 	}
 
 	@Override
-	public void updateTaskExecution(TaskExecution taskExecution) {
-		// Check if given TaskExecution's Id already exists, if none is found
-		// it is invalid and an exception should be thrown.
-		if (jdbcTemplate.queryForObject(getQuery(CHECK_TASK_EXECUTION_EXISTS), Integer.class,
-				new Object[]{ taskExecution.getExecutionId() }) != 1) {
-			throw new IllegalStateException("Invalid TaskExecution, ID " + taskExecution.getExecutionId() + " not found.");
+	public void updateTaskExecution(final TaskExecution taskExecution) {
+		if (!useSummaryTable) {
+			doUpdateTaskExecution(taskExecution);
+			return;
 		}
+		populateSummaryIfEmpty();
+		transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+			@Override
+			protected void doInTransactionWithoutResult(TransactionStatus status) {
+				// An execution is only updated by its own task, so the state read here is
+				// not changed concurrently.
+				Map<String, Object> previous;
+				try {
+					previous = jdbcTemplate.queryForMap(getQuery(GET_EXECUTION_STATE_BY_ID),
+							taskExecution.getExecutionId());
+				}
+				catch (EmptyResultDataAccessException e) {
+					throw new IllegalStateException("Invalid TaskExecution, ID "
+							+ taskExecution.getExecutionId() + " not found.");
+				}
+				doUpdateTaskExecution(taskExecution);
+				String previousTaskName = (String) previous.get("TASK_NAME");
+				int previousRunning = (previous.get("END_TIME") == null) ? 1 : 0;
+				int running = (taskExecution.getEndTime() == null) ? 1 : 0;
+				if (ObjectUtils.nullSafeEquals(previousTaskName, taskExecution.getTaskName())) {
+					if (running != previousRunning) {
+						adjustSummary(status, previousTaskName, 0, running - previousRunning);
+					}
+				}
+				else {
+					adjustSummary(status, previousTaskName, -1, -previousRunning);
+					adjustSummary(status, taskExecution.getTaskName(), 1, running);
+				}
+				updateSummaryLastExecution(taskExecution);
+			}
+		});
+	}
 
+	private void doUpdateTaskExecution(TaskExecution taskExecution) {
 		Object[] parameters = new Object[]{ taskExecution.getStartTime(), taskExecution.getEndTime(),
 				taskExecution.getTaskName(), taskExecution.getExitCode(),
 				taskExecution.getExitMessage(), new Date(), taskExecution.getExecutionId()};
-		jdbcTemplate.update(
+		int updated = jdbcTemplate.update(
 				getQuery(UPDATE_TASK_EXECUTION),
 				parameters,
 				new int[]{ Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR, Types.INTEGER,
 						Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT});
+		// If no row was updated the given TaskExecution's Id does not exist, it is
+		// invalid and an exception should be thrown.
+		if (updated != 1) {
+			throw new IllegalStateException("Invalid TaskExecution, ID " + taskExecution.getExecutionId() + " not found.");
+		}
 	}
 
 	/**
@@ -162,21 +385,135 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 		this.tablePrefix = tablePrefix;
 	}
 
+	/**
+	 * Sets the maximum number of task parameters sent to the database in a single JDBC
+	 * batch when a task execution is saved.  Defaults to
+	 * {@link #DEFAULT_PARAMETER_BATCH_SIZE}.
+	 *
+	 * @param parameterBatchSize the parameter batch size
+	 */
+	public void setParameterBatchSize(int parameterBatchSize) {
+		Assert.isTrue(parameterBatchSize > 0, "parameterBatchSize must be greater than zero");
+		this.parameterBatchSize = parameterBatchSize;
+	}
+
+	/**
+	 * Sets the JDBC fetch size used by {@link #forEachTaskExecution}, the number of
+	 * rows the driver retrieves from the database at a time.  Defaults to
+	 * {@link #DEFAULT_FETCH_SIZE}.  MySQL Connector/J only streams rows when the fetch
+	 * size is {@link Integer#MIN_VALUE} or the connection uses {@code useCursorFetch},
+	 * otherwise it reads the complete result into memory.
+	 *
+	 * @param fetchSize the fetch size
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Sets the dialect of the database, so that it does not have to be read from the
+	 * DataSource's metadata when it is first needed.
+	 *
+	 * @param databaseDialect the dialect of the database behind the DataSource
+	 */
+	public void setDatabaseDialect(DatabaseDialect databaseDialect) {
+		this.databaseDialect = databaseDialect;
+	}
+
+	/**
+	 * Sets whether page queries should retrieve the total number of matching task
+	 * executions in the same statement as the page, using {@code COUNT(*) OVER ()},
+	 * rather than with a separate count query.  This is only applied on databases that
+	 * support the window function (PostgreSQL, Oracle, MySQL 8 and H2 1.4.198 or
+	 * later), other databases continue to use a separate count query.  Defaults to
+	 * false.
+	 *
+	 * @param countWithPageQuery true if the total count should be retrieved with the page
+	 */
+	public void setCountWithPageQuery(boolean countWithPageQuery) {
+		this.countWithPageQuery = countWithPageQuery;
+	}
+
+	/**
+	 * Sets whether the number of executions, the number of running executions and the
+	 * last execution of each task name are maintained in the {@code SUMMARY} table, in
+	 * the same transaction as the executions are saved, updated and removed, and
+	 * whether the counts and task names are read from it rather than aggregated over
+	 * the {@code EXECUTION} table.  Every dao writing to the task repository must use
+	 * the same setting.  If the summary table is empty while the repository holds named
+	 * executions, it is populated from the {@code EXECUTION} table when it is first
+	 * used, while holding a lock on the rows of the {@code SCHEMA_VERSION} table so that
+	 * processes starting at the same time populate it only once.  Defaults to false.
+	 *
+	 * @param useSummaryTable true if the summary table should be maintained and used
+	 */
+	public void setUseSummaryTable(boolean useSummaryTable) {
+		this.useSummaryTable = useSummaryTable;
+	}
+
+	/**
+	 * Sets whether page queries on MySQL and PostgreSQL are generated as a deferred
+	 * join: the ids of the executions of the page are selected over the index on the
+	 * sort keys and then joined back to the {@code EXECUTION} table, so that the
+	 * executions skipped by the offset of the page are not read in full.  This benefits
+	 * requests for pages far from the first, other databases are not affected.
+	 * Defaults to false.
+	 *
+	 * @param deferredJoinPaging true if page queries should be generated as a deferred join
+	 */
+	public void setDeferredJoinPaging(boolean deferredJoinPaging) {
+		this.deferredJoinPaging = deferredJoinPaging;
+	}
+
 	@Override
 	public TaskExecution getTaskExecution(long executionId) {
-		try {
-			TaskExecution taskExecution = jdbcTemplate.queryForObject(getQuery(GET_EXECUTION_BY_ID),
-					new TaskExecutionRowMapper(), executionId);
-			taskExecution.setParameters(getTaskParameters(executionId));
-			return taskExecution;
+		final TaskExecution[] result = new TaskExecution[1];
+		TaskExecutionStreamingHandler handler = new TaskExecutionStreamingHandler(
+				new TaskExecutionCallback() {
+					@Override
+					public void processTaskExecution(TaskExecution taskExecution) {
+						result[0] = taskExecution;
+					}
+				});
+		jdbcTemplate.query(getQuery(GET_EXECUTION_WITH_PARAMS_BY_ID),
+				new Object[] { executionId }, handler);
+		handler.complete();
+		return result[0];
+	}
+
+	@Override
+	public List<TaskExecution> getTaskExecutions(Collection<Long> executionIds) {
+		Assert.notNull(executionIds, "executionIds must not be null");
+		List<Long> ids = new ArrayList<>(new LinkedHashSet<>(executionIds));
+		List<TaskExecution> taskExecutions = new ArrayList<>(ids.size());
+		TaskExecutionRowMapper rowMapper = new TaskExecutionRowMapper();
+		for (int i = 0; i < ids.size(); i += DEFAULT_PARAMETER_QUERY_CHUNK_SIZE) {
+			List<Long> chunk = ids.subList(i,
+					Math.min(i + DEFAULT_PARAMETER_QUERY_CHUNK_SIZE, ids.size()));
+			taskExecutions.addAll(namedParameterJdbcTemplate.query(getQuery(GET_EXECUTIONS_BY_IDS),
+					new MapSqlParameterSource("taskExecutionIds", chunk), rowMapper));
 		}
-		catch (EmptyResultDataAccessException e) {
-			return null;
+		populateTaskParameters(taskExecutions);
+		Map<Long, TaskExecution> executionsById = new HashMap<>(taskExecutions.size());
+		for (TaskExecution taskExecution : taskExecutions) {
+			executionsById.put(taskExecution.getExecutionId(), taskExecution);
 		}
+		List<TaskExecution> result = new ArrayList<>(taskExecutions.size());
+		for (Long id : ids) {
+			TaskExecution taskExecution = executionsById.get(id);
+			if (taskExecution != null) {
+				result.add(taskExecution);
+			}
+		}
+		return result;
 	}
 
 	@Override
 	public long getTaskExecutionCountByTaskName(String taskName) {
+		if (useSummaryTable) {
+			populateSummaryIfEmpty();
+			return queryForSummaryCount(SUMMARY_EXECUTION_COUNT_BY_NAME, taskName);
+		}
 		try {
 		return jdbcTemplate.queryForObject(
 				getQuery(TASK_EXECUTION_COUNT_BY_NAME), new Object[] { taskName }, Long.class);
@@ -188,6 +525,10 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 
 	@Override
 	public long getRunningTaskExecutionCountByTaskName(String taskName) {
+		if (useSummaryTable) {
+			populateSummaryIfEmpty();
+			return queryForSummaryCount(SUMMARY_RUNNING_COUNT_BY_NAME, taskName);
+		}
 		try {
 			return jdbcTemplate.queryForObject(
 					getQuery(RUNNING_TASK_EXECUTION_COUNT_BY_NAME), new Object[] { taskName }, Long.class);
@@ -199,6 +540,13 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 
 	@Override
 	public long getTaskExecutionCount() {
+		if (useSummaryTable) {
+			populateSummaryIfEmpty();
+			Long summaryCount = jdbcTemplate.queryForObject(getQuery(SUMMARY_EXECUTION_COUNT),
+					Long.class);
+			return ((summaryCount == null) ? 0 : summaryCount)
+					+ jdbcTemplate.queryForObject(getQuery(UNNAMED_TASK_EXECUTION_COUNT), Long.class);
+		}
 		try {
 			return jdbcTemplate.queryForObject(
 					getQuery(TASK_EXECUTION_COUNT), new Object[] {  }, Long.class);
@@ -212,25 +560,96 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 	public Page<TaskExecution> findRunningTaskExecutions(String taskName, Pageable pageable) {
 		return queryForPageableResults(pageable, SELECT_CLAUSE, FROM_CLAUSE,
 				RUNNING_TASK_WHERE_CLAUSE, new Object[]{ taskName },
-				getRunningTaskExecutionCountByTaskName(taskName));
+				RUNNING_TASK_EXECUTION_COUNT_BY_NAME);
 	}
 
 	@Override
 	public Page<TaskExecution> findTaskExecutionsByName(String taskName, Pageable pageable) {
 		return queryForPageableResults(pageable, SELECT_CLAUSE, FROM_CLAUSE,
 				TASK_NAME_WHERE_CLAUSE, new Object[]{ taskName },
-				getTaskExecutionCountByTaskName(taskName));
+				TASK_EXECUTION_COUNT_BY_NAME);
 	}
 
 	@Override
 	public List<String> getTaskNames() {
+		if (useSummaryTable) {
+			populateSummaryIfEmpty();
+			return jdbcTemplate.queryForList(getQuery(SUMMARY_TASK_NAMES), String.class);
+		}
 		return jdbcTemplate.queryForList(getQuery(FIND_TASK_NAMES), String.class);
 	}
 
 	@Override
 	public Page<TaskExecution> findAll(Pageable pageable) {
 		return queryForPageableResults(pageable, SELECT_CLAUSE, FROM_CLAUSE, null,
-				new Object[]{  }, getTaskExecutionCount());
+				new Object[]{  }, TASK_EXECUTION_COUNT);
+	}
+
+	@Override
+	public List<TaskExecution> findAllAfter(Date lastStartTime, long lastExecutionId, int pageSize) {
+		return queryForKeysetResults(lastStartTime, lastExecutionId, pageSize, SELECT_CLAUSE,
+				FROM_CLAUSE, null, new Object[]{  });
+	}
+
+	@Override
+	public List<TaskExecution> findTaskExecutionsByNameAfter(String taskName,
+			Date lastStartTime, long lastExecutionId, int pageSize) {
+		return queryForKeysetResults(lastStartTime, lastExecutionId, pageSize, SELECT_CLAUSE,
+				FROM_CLAUSE, TASK_NAME_WHERE_CLAUSE, new Object[]{ taskName });
+	}
+
+	/**
+	 * Reads the task executions with a single forward-only query that joins the
+	 * parameters, so that neither a count nor a query per page or per execution is
+	 * needed.  The query runs in a transaction because PostgreSQL only fetches rows
+	 * incrementally when auto-commit is disabled.  While a streaming MySQL result is
+	 * open the connection can not be used for other statements, so the callback
+	 * should not query this dao in that case.
+	 */
+	@Override
+	public void forEachTaskExecution(final TaskExecutionCallback callback) {
+		Assert.notNull(callback, "callback must not be null");
+		transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+			@Override
+			protected void doInTransactionWithoutResult(TransactionStatus status) {
+				TaskExecutionStreamingHandler handler = new TaskExecutionStreamingHandler(callback);
+				jdbcTemplate.query(new PreparedStatementCreator() {
+					@Override
+					public PreparedStatement createPreparedStatement(Connection con)
+							throws SQLException {
+						PreparedStatement ps = con.prepareStatement(
+								getQuery(FIND_ALL_WITH_PARAMS),
+								ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+						ps.setFetchSize(fetchSize);
+						return ps;
+					}
+				}, handler);
+				handler.complete();
+			}
+		});
+	}
+
+	@Override
+	public List<Long> findCompletedTaskExecutionIdsStartedBefore(Date startTime, int maxResults) {
+		Assert.notNull(startTime, "startTime must not be null");
+		return queryForIds(FIND_COMPLETED_IDS_STARTED_BEFORE, new Object[]{ startTime },
+				maxResults);
+	}
+
+	@Override
+	public List<Long> findOldestCompletedTaskExecutionIds(String taskName, int maxResults) {
+		return queryForIds(FIND_OLDEST_COMPLETED_IDS_BY_NAME, new Object[]{ taskName },
+				maxResults);
+	}
+
+	@Override
+	public int deleteTaskExecutions(Collection<Long> executionIds) {
+		return removeTaskExecutions(executionIds, false);
+	}
+
+	@Override
+	public int archiveTaskExecutions(Collection<Long> executionIds) {
+		return removeTaskExecutions(executionIds, true);
 	}
 
 	public void setTaskIncrementer(DataFieldMaxValueIncrementer taskIncrementer) {
@@ -246,29 +665,332 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 														String fromClause,
 														String whereClause,
 														Object[] queryParam,
-														long totalCount){
-		SqlPagingQueryProviderFactoryBean factoryBean = new SqlPagingQueryProviderFactoryBean();
-		factoryBean.setSelectClause(selectClause);
-		factoryBean.setFromClause(fromClause);
-		if(StringUtils.hasText(whereClause)){
-			factoryBean.setWhereClause(whereClause);
-		}
-		factoryBean.setSortKeys(orderMap);
-		factoryBean.setDataSource(dataSource);
-		PagingQueryProvider pagingQueryProvider = null;
+														String countQuery){
+		boolean includeTotalCount = countWithPageQuery && isTotalCountSupported();
+		PagingQueryProvider pagingQueryProvider =
+				getPagingQueryProvider(selectClause, fromClause, whereClause, includeTotalCount);
+		String query = pagingQueryProvider.getParameterizedPageQuery();
+		Object[] pageParams = concat(queryParam, pagingQueryProvider.getPageParameterValues(pageable));
+		long totalCount;
+		List<TaskExecution> resultList;
+		if (includeTotalCount) {
+			final long[] count = new long[]{ -1 };
+			final TaskExecutionRowMapper rowMapper = new TaskExecutionRowMapper();
+			resultList = jdbcTemplate.query(getQuery(query), pageParams,
+					new RowMapper<TaskExecution>() {
+						@Override
+						public TaskExecution mapRow(ResultSet rs, int rowNum) throws SQLException {
+							count[0] = rs.getLong(SqlPagingQueryUtils.TOTAL_COUNT_COLUMN);
+							return rowMapper.mapRow(rs, rowNum);
+						}
+					});
+			totalCount = count[0];
+			if (totalCount < 0) {
+				// No rows were returned so the total is only known if this is the first page.
+				totalCount = (pageable.getOffset() == 0) ? 0 : queryForCount(countQuery, queryParam);
+			}
+		}
+		else {
+			totalCount = queryForCount(countQuery, queryParam);
+			resultList = jdbcTemplate.query(
+					getQuery(query),
+					pageParams,
+					new TaskExecutionRowMapper());
+		}
+		populateTaskParameters(resultList);
+		return new PageImpl<TaskExecution>(resultList, pageable, totalCount);
+	}
+
+	private long queryForCount(String countQuery, Object[] queryParam) {
 		try {
-			pagingQueryProvider = factoryBean.getObject();
-			pagingQueryProvider.init(dataSource);
+			return jdbcTemplate.queryForObject(getQuery(countQuery), queryParam, Long.class);
 		}
-		catch (Exception e) {
-			throw new IllegalStateException(e);
+		catch (EmptyResultDataAccessException e) {
+			return 0;
+		}
+	}
+
+	private List<TaskExecution> queryForKeysetResults(Date lastStartTime,
+			long lastExecutionId, int pageSize, String selectClause, String fromClause,
+			String whereClause, Object[] queryParam) {
+		Assert.isTrue(pageSize > 0, "pageSize must be greater than zero");
+		// The seek predicate never matches a NULL START_TIME, exclude those rows from the
+		// first page as well so that every page is drawn from the same set.
+		String keysetWhereClause = StringUtils.hasText(whereClause)
+				? whereClause + "AND " + KEYSET_WHERE_CLAUSE : "where " + KEYSET_WHERE_CLAUSE;
+		PagingQueryProvider pagingQueryProvider =
+				getPagingQueryProvider(selectClause, fromClause, keysetWhereClause, false);
+		String query;
+		Object[] params;
+		if (lastStartTime == null) {
+			query = pagingQueryProvider.getParameterizedPageQuery();
+			params = concat(queryParam,
+					pagingQueryProvider.getPageParameterValues(new PageRequest(0, pageSize)));
 		}
-		String query = pagingQueryProvider.getPageQuery(pageable);
-		List<TaskExecution> resultList = jdbcTemplate.query(
-				getQuery(query),
-				queryParam,
+		else {
+			List<Object> sortKeyValues = new ArrayList<>(orderMap.size());
+			for (String sortKey : orderMap.keySet()) {
+				sortKeyValues.add(sortKey.equals("START_TIME") ? lastStartTime : lastExecutionId);
+			}
+			query = pagingQueryProvider.getKeysetPageQuery();
+			params = concat(queryParam, pagingQueryProvider.getKeysetParameterValues(
+					sortKeyValues.toArray(), pageSize));
+		}
+		List<TaskExecution> resultList = jdbcTemplate.query(getQuery(query), params,
 				new TaskExecutionRowMapper());
-		return new PageImpl<TaskExecution>(resultList, pageable, totalCount);
+		populateTaskParameters(resultList);
+		return resultList;
+	}
+
+	private static Object[] concat(Object[] first, Object[] second) {
+		Object[] result = new Object[first.length + second.length];
+		System.arraycopy(first, 0, result, 0, first.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+		return result;
+	}
+
+	private long queryForSummaryCount(String query, String taskName) {
+		try {
+			return jdbcTemplate.queryForObject(getQuery(query), new Object[]{ taskName },
+					Long.class);
+		}
+		catch (EmptyResultDataAccessException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Adds the deltas provided to the summary counts of a task name, creating the
+	 * summary row for the first execution of the task and removing it once the task
+	 * has no executions left.
+	 *
+	 * @param status the transaction the summary is updated in.
+	 * @param taskName the name of the task, executions without a name are not
+	 * summarized.
+	 * @param executionDelta the change in the number of executions.
+	 * @param runningDelta the change in the number of running executions.
+	 */
+	private void adjustSummary(TransactionStatus status, String taskName,
+			long executionDelta, long runningDelta) {
+		if (taskName == null) {
+			return;
+		}
+		if (updateSummaryCounts(taskName, executionDelta, runningDelta) == 0) {
+			// The savepoint keeps the transaction usable if another task created the row
+			// first (PostgreSQL aborts a transaction on any error).
+			Object savepoint = status.createSavepoint();
+			try {
+				jdbcTemplate.update(getQuery(CREATE_SUMMARY), new Object[]{ taskName,
+						executionDelta, runningDelta }, new int[]{ Types.VARCHAR, Types.BIGINT,
+						Types.BIGINT });
+				status.releaseSavepoint(savepoint);
+			}
+			catch (DuplicateKeyException e) {
+				status.rollbackToSavepoint(savepoint);
+				updateSummaryCounts(taskName, executionDelta, runningDelta);
+			}
+		}
+		if (executionDelta < 0) {
+			jdbcTemplate.update(getQuery(DELETE_EMPTY_SUMMARY), taskName);
+		}
+	}
+
+	/**
+	 * Populates the summary table from the {@code EXECUTION} table the first time it is
+	 * used if it is empty while named executions exist, which is the case when the
+	 * summary table is enabled on a repository whose executions were written without
+	 * it.  The check is made in the populating transaction after locking the schema
+	 * version rows, so a process that waited for another one to populate the table
+	 * finds it populated and keeps the rows, including the changes applied to them
+	 * since.
+	 */
+	private void populateSummaryIfEmpty() {
+		if (summaryPopulated) {
+			return;
+		}
+		synchronized (this) {
+			if (summaryPopulated) {
+				return;
+			}
+			try {
+				transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+					@Override
+					protected void doInTransactionWithoutResult(TransactionStatus status) {
+						jdbcTemplate.update(getQuery(LOCK_SUMMARY_POPULATION));
+						if (jdbcTemplate.queryForObject(getQuery(SUMMARY_ROW_COUNT), Long.class) == 0
+								&& !queryForIds(FIND_NAMED_EXECUTION_ID, new Object[0], 1).isEmpty()) {
+							jdbcTemplate.update(getQuery(DELETE_SUMMARY));
+							jdbcTemplate.update(getQuery(POPULATE_SUMMARY));
+						}
+					}
+				});
+			}
+			catch (DuplicateKeyException e) {
+				// A task saved concurrently created the first summary row, which it only
+				// does when no other named executions exist.
+			}
+			summaryPopulated = true;
+		}
+	}
+
+	private int updateSummaryCounts(String taskName, long executionDelta, long runningDelta) {
+		return jdbcTemplate.update(getQuery(UPDATE_SUMMARY_COUNTS), new Object[]{
+				executionDelta, runningDelta, taskName }, new int[]{ Types.BIGINT,
+				Types.BIGINT, Types.VARCHAR });
+	}
+
+	/**
+	 * Records the execution as the last execution of its task unless a later one has
+	 * already been recorded.  The exit code of a running execution is recorded as null.
+	 */
+	private void updateSummaryLastExecution(TaskExecution taskExecution) {
+		if (taskExecution.getTaskName() == null) {
+			return;
+		}
+		Integer exitCode = (taskExecution.getEndTime() == null) ? null
+				: taskExecution.getExitCode();
+		jdbcTemplate.update(getQuery(UPDATE_SUMMARY_LAST_EXECUTION), new Object[]{
+				taskExecution.getStartTime(), exitCode, taskExecution.getTaskName(),
+				taskExecution.getStartTime() }, new int[]{ Types.TIMESTAMP, Types.INTEGER,
+				Types.VARCHAR, Types.TIMESTAMP });
+	}
+
+	/**
+	 * Retrieves the ids returned by the query, limiting the rows read with
+	 * {@link PreparedStatement#setMaxRows(int)} so that no database specific syntax is
+	 * needed.
+	 */
+	private List<Long> queryForIds(final String query, final Object[] queryParam,
+			final int maxResults) {
+		Assert.isTrue(maxResults > 0, "maxResults must be greater than zero");
+		return jdbcTemplate.query(new PreparedStatementCreator() {
+			@Override
+			public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+				PreparedStatement ps = con.prepareStatement(getQuery(query));
+				ps.setMaxRows(maxResults);
+				new ArgumentPreparedStatementSetter(queryParam).setValues(ps);
+				return ps;
+			}
+		}, new SingleColumnRowMapper<Long>(Long.class));
+	}
+
+	/**
+	 * Deletes, after optionally copying them to the archive tables, the completed task
+	 * executions from the ids provided in a single transaction.  The parameter rows are
+	 * removed before the task executions that they reference.
+	 */
+	private int removeTaskExecutions(Collection<Long> executionIds, final boolean archive) {
+		Assert.notNull(executionIds, "executionIds must not be null");
+		if (executionIds.isEmpty()) {
+			return 0;
+		}
+		final List<Long> ids = new ArrayList<>(executionIds);
+		if (useSummaryTable) {
+			populateSummaryIfEmpty();
+		}
+		return transactionTemplate.execute(new TransactionCallback<Integer>() {
+			@Override
+			public Integer doInTransaction(TransactionStatus status) {
+				int removed = 0;
+				for (int i = 0; i < ids.size(); i += DEFAULT_PARAMETER_QUERY_CHUNK_SIZE) {
+					List<Long> chunk = ids.subList(i,
+							Math.min(i + DEFAULT_PARAMETER_QUERY_CHUNK_SIZE, ids.size()));
+					// Running executions are still being written by their task.
+					List<Long> completedIds = namedParameterJdbcTemplate.queryForList(
+							getQuery(FIND_COMPLETED_IDS_FROM_IDS),
+							new MapSqlParameterSource("taskExecutionIds", chunk), Long.class);
+					if (completedIds.isEmpty()) {
+						continue;
+					}
+					MapSqlParameterSource completedParams =
+							new MapSqlParameterSource("taskExecutionIds", completedIds);
+					if (useSummaryTable) {
+						List<Map<String, Object>> taskNameCounts = namedParameterJdbcTemplate
+								.queryForList(getQuery(FIND_TASK_NAME_COUNTS_FROM_IDS),
+										completedParams);
+						for (Map<String, Object> taskNameCount : taskNameCounts) {
+							adjustSummary(status, (String) taskNameCount.get("TASK_NAME"),
+									-((Number) taskNameCount.get("EXECUTION_COUNT")).longValue(), 0);
+						}
+					}
+					if (archive) {
+						namedParameterJdbcTemplate.update(getQuery(ARCHIVE_TASK_EXECUTIONS),
+								completedParams);
+						namedParameterJdbcTemplate.update(getQuery(ARCHIVE_TASK_PARAMS),
+								completedParams);
+					}
+					namedParameterJdbcTemplate.update(getQuery(DELETE_TASK_PARAMS), completedParams);
+					removed += namedParameterJdbcTemplate.update(getQuery(DELETE_TASK_EXECUTIONS),
+							completedParams);
+				}
+				return removed;
+			}
+		});
+	}
+
+	/**
+	 * Retrieves the {@link PagingQueryProvider} for the query described by the
+	 * clauses provided.  Providers are created and initialized once per query shape
+	 * and database type, and are reused for subsequent page requests.
+	 */
+	private PagingQueryProvider getPagingQueryProvider(String selectClause,
+			String fromClause, String whereClause, boolean includeTotalCount) {
+		String key = selectClause + "|" + fromClause + "|" + whereClause + "|" + includeTotalCount;
+		PagingQueryProvider pagingQueryProvider = pagingQueryProviders.get(key);
+		if (pagingQueryProvider == null) {
+			SqlPagingQueryProviderFactoryBean factoryBean = new SqlPagingQueryProviderFactoryBean();
+			factoryBean.setSelectClause(selectClause);
+			factoryBean.setFromClause(fromClause);
+			if(StringUtils.hasText(whereClause)){
+				factoryBean.setWhereClause(whereClause);
+			}
+			factoryBean.setSortKeys(orderMap);
+			factoryBean.setDataSource(dataSource);
+			factoryBean.setDatabaseDialect(getDatabaseDialect());
+			factoryBean.setIncludeTotalCount(includeTotalCount);
+			if (deferredJoinPaging) {
+				factoryBean.setDeferredJoinKey("TASK_EXECUTION_ID");
+			}
+			try {
+				pagingQueryProvider = factoryBean.getObject();
+			}
+			catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+			PagingQueryProvider existing =
+					pagingQueryProviders.putIfAbsent(key, pagingQueryProvider);
+			if (existing != null) {
+				pagingQueryProvider = existing;
+			}
+		}
+		return pagingQueryProvider;
+	}
+
+	/**
+	 * Retrieves the dialect of the database, inspecting the DataSource's metadata the
+	 * first time it is needed unless one was provided.
+	 */
+	private DatabaseDialect getDatabaseDialect() {
+		DatabaseDialect dialect = databaseDialect;
+		if (dialect == null) {
+			dialect = resolveDatabaseDialect();
+		}
+		return dialect;
+	}
+
+	/**
+	 * Indicates whether the database supports the {@code COUNT(*) OVER ()} window
+	 * function used to retrieve the total count with the page.
+	 */
+	private boolean isTotalCountSupported() {
+		return getDatabaseDialect().isTotalCountSupported();
+	}
+
+	private synchronized DatabaseDialect resolveDatabaseDialect() {
+		if (databaseDialect == null) {
+			databaseDialect = DatabaseDialect.resolve(dataSource);
+		}
+		return databaseDialect;
 	}
 
 	private String getQuery(String base) {
@@ -277,49 +999,111 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 
 	/**
 	 * Convenience method that inserts all parameters from the provided
-	 * task parameters.
+	 * task parameters into the TASK_EXECUTION_PARAMS table using JDBC batches of
+	 * at most {@link #setParameterBatchSize(int) parameterBatchSize} rows.
 	 *
 	 * @param executionId    The executionId to which the params are associated.
 	 * @param taskParameters The parameters to be stored.
 	 */
-	private void insertTaskParameters(long executionId, List<String> taskParameters) {
-		for (String param : taskParameters) {
-			insertParameter(executionId, param);
+	private void insertTaskParameters(final long executionId, List<String> taskParameters) {
+		if (taskParameters.isEmpty()) {
+			return;
 		}
+		jdbcTemplate.batchUpdate(getQuery(CREATE_TASK_PARAMETER), taskParameters,
+				parameterBatchSize, new ParameterizedPreparedStatementSetter<String>() {
+					@Override
+					public void setValues(PreparedStatement ps, String param) throws SQLException {
+						ps.setLong(1, executionId);
+						ps.setString(2, param);
+					}
+				});
 	}
 
 	/**
-	 * Convenience method that inserts an individual records into the
-	 * TASK_EXECUTION_PARAMS table.
+	 * Retrieves the parameters for all of the task executions provided using as few
+	 * queries as possible (one per {@link #DEFAULT_PARAMETER_QUERY_CHUNK_SIZE} ids) and
+	 * sets them on the corresponding task execution.
+	 *
+	 * @param taskExecutions the task executions whose parameters are to be populated.
 	 */
-	private void insertParameter(long executionId, String param) {
-		int[] argTypes = new int[]{ Types.BIGINT, Types.VARCHAR };
-		Object[] args = new Object[]{ executionId, param };
-		jdbcTemplate.update(getQuery(CREATE_TASK_PARAMETER), args, argTypes);
-	}
-
-	private List<String> getTaskParameters(long executionId){
-		final List<String> params= new ArrayList<>();
+	private void populateTaskParameters(List<TaskExecution> taskExecutions) {
+		if (taskExecutions.isEmpty()) {
+			return;
+		}
+		final Map<Long, List<String>> paramsById = new HashMap<>(taskExecutions.size());
+		List<Long> ids = new ArrayList<>(taskExecutions.size());
+		for (TaskExecution taskExecution : taskExecutions) {
+			List<String> params = new ArrayList<>();
+			taskExecution.setParameters(params);
+			paramsById.put(taskExecution.getExecutionId(), params);
+			ids.add(taskExecution.getExecutionId());
+		}
 		RowCallbackHandler handler = new RowCallbackHandler() {
 			@Override
 			public void processRow(ResultSet rs) throws SQLException {
-				params.add(rs.getString(2));
+				paramsById.get(rs.getLong(1)).add(rs.getString(2));
 			}
 		};
+		for (int i = 0; i < ids.size(); i += DEFAULT_PARAMETER_QUERY_CHUNK_SIZE) {
+			List<Long> chunk = ids.subList(i,
+					Math.min(i + DEFAULT_PARAMETER_QUERY_CHUNK_SIZE, ids.size()));
+			namedParameterJdbcTemplate.query(getQuery(FIND_PARAMS_FROM_IDS),
+					new MapSqlParameterSource("taskExecutionIds", chunk), handler);
+		}
+	}
+
+	/**
+	 * Assembles task executions from the rows of a query joining executions with their
+	 * parameters, such as {@link #FIND_ALL_WITH_PARAMS}, and hands each one to the
+	 * callback as soon as its last parameter has been read.
+	 */
+	private final class TaskExecutionStreamingHandler implements RowCallbackHandler {
+
+		private final TaskExecutionCallback callback;
 
-		jdbcTemplate.query(getQuery(FIND_PARAMS_FROM_ID), new Object[] { executionId },
-				handler);
-		return params;
+		private final TaskExecutionRowMapper rowMapper = new TaskExecutionRowMapper();
+
+		private TaskExecution current;
+
+		private int rowNum;
+
+		TaskExecutionStreamingHandler(TaskExecutionCallback callback) {
+			this.callback = callback;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			long id = rs.getLong("TASK_EXECUTION_ID");
+			if (current == null || current.getExecutionId() != id) {
+				complete();
+				current = rowMapper.mapRow(rs, rowNum++);
+				current.setParameters(new ArrayList<String>());
+			}
+			rs.getLong("PARAM_EXECUTION_ID");
+			if (!rs.wasNull()) {
+				current.getParameters().add(rs.getString("TASK_PARAM"));
+			}
+		}
+
+		/**
+		 * Hands the execution being assembled, if any, to the callback.
+		 */
+		void complete() {
+			if (current != null) {
+				TaskExecution taskExecution = current;
+				current = null;
+				callback.processTaskExecution(taskExecution);
+			}
+		}
 	}
+
 	/**
-	 * Re-usable mapper for {@link TaskExecution} instances.
+	 * Re-usable mapper for {@link TaskExecution} instances.  The parameters are not
+	 * retrieved and are expected to be populated by the caller.
 	 *
 	 */
 	private final class TaskExecutionRowMapper implements RowMapper<TaskExecution> {
 
-		public TaskExecutionRowMapper() {
-		}
-
 		@Override
 		public TaskExecution mapRow(ResultSet rs, int rowNum) throws SQLException {
 			long  id = rs.getLong("TASK_EXECUTION_ID");
@@ -329,7 +1113,7 @@ public class JdbcTaskExecutionDao implements TaskExecutionDao {
 					rs.getTimestamp("START_TIME"),
 					rs.getTimestamp("END_TIME"),
 					rs.getString("EXIT_MESSAGE"),
-					getTaskParameters(id));
+					Collections.<String>emptyList());
 			return taskExecution;
 		}
 	}
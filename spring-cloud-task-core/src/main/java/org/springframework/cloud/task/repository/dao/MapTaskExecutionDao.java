@@ -17,44 +17,71 @@
 package org.springframework.cloud.task.repository.dao;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.NavigableMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExecutionCallback;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.util.Assert;
 
 /**
  * Stores Task Execution Information to a in-memory map.
  *
+ * In addition to the executions keyed by id, the dao maintains indexes of the
+ * executions ordered by start time and id (overall, per task name and for running
+ * executions of each task name) as well as per task name counters.  The indexes are
+ * updated when an execution is saved, updated or removed so that queries do not need
+ * to scan every execution.
+ *
  * @author Glenn Renfro
  */
 public class MapTaskExecutionDao implements TaskExecutionDao {
 
 	private ConcurrentMap<Long, TaskExecution> taskExecutions;
 
+	private final ConcurrentMap<Long, TaskExecution> archivedTaskExecutions =
+			new ConcurrentHashMap<>();
+
 	private final AtomicLong currentId = new AtomicLong(0L);
 
+	/**
+	 * The index key each stored execution was last indexed under.
+	 */
+	private final ConcurrentMap<Long, ExecutionKey> executionKeys = new ConcurrentHashMap<>();
+
+	private final ConcurrentNavigableMap<ExecutionKey, TaskExecution> allExecutions =
+			new ConcurrentSkipListMap<>();
+
+	private final ConcurrentNavigableMap<String, TaskNameIndex> taskNameIndexes =
+			new ConcurrentSkipListMap<>();
+
+	private final Object monitor = new Object();
+
 	public MapTaskExecutionDao() {
 		taskExecutions = new ConcurrentHashMap<>();
 	}
 
 	@Override
 	public void saveTaskExecution(TaskExecution taskExecution) {
-		taskExecutions.put(taskExecution.getExecutionId(), taskExecution);
+		store(taskExecution);
 	}
 
 	@Override
 	public void updateTaskExecution(TaskExecution taskExecution) {
-		taskExecutions.put(taskExecution.getExecutionId(), taskExecution);
+		store(taskExecution);
 	}
 
 	@Override
@@ -63,26 +90,28 @@ public class MapTaskExecutionDao implements TaskExecutionDao {
 	}
 
 	@Override
-	public long getTaskExecutionCountByTaskName(String taskName) {
-		int count = 0;
-		for (Map.Entry<Long, TaskExecution> entry : taskExecutions.entrySet()) {
-			if (entry.getValue().getTaskName().equals(taskName)) {
-				count++;
+	public List<TaskExecution> getTaskExecutions(Collection<Long> executionIds) {
+		Assert.notNull(executionIds, "executionIds must not be null");
+		List<TaskExecution> result = new ArrayList<>(executionIds.size());
+		for (Long executionId : new LinkedHashSet<>(executionIds)) {
+			TaskExecution taskExecution = taskExecutions.get(executionId);
+			if (taskExecution != null) {
+				result.add(taskExecution);
 			}
 		}
-		return count;
+		return result;
+	}
+
+	@Override
+	public long getTaskExecutionCountByTaskName(String taskName) {
+		TaskNameIndex index = getTaskNameIndex(taskName);
+		return (index == null) ? 0 : index.count.get();
 	}
 
 	@Override
 	public long getRunningTaskExecutionCountByTaskName(String taskName) {
-		int count = 0;
-		for (Map.Entry<Long, TaskExecution> entry : taskExecutions.entrySet()) {
-			if (entry.getValue().getTaskName().equals(taskName) &&
-					entry.getValue().getEndTime() == null) {
-				count++;
-			}
-		}
-		return count;
+		TaskNameIndex index = getTaskNameIndex(taskName);
+		return (index == null) ? 0 : index.runningCount.get();
 	}
 
 	@Override
@@ -92,72 +121,302 @@ public class MapTaskExecutionDao implements TaskExecutionDao {
 
 	@Override
 	public Page<TaskExecution> findRunningTaskExecutions(String taskName, Pageable pageable) {
-		Set<TaskExecution> result = getTaskExecutionTreeSet();
-		for (Map.Entry<Long, TaskExecution> entry : taskExecutions.entrySet()) {
-			if (entry.getValue().getTaskName().equals(taskName) &&
-					entry.getValue().getEndTime() == null) {
-				result.add(entry.getValue());
-			}
+		TaskNameIndex index = getTaskNameIndex(taskName);
+		if (index == null) {
+			return getPage(Collections.<TaskExecution>emptyList(), pageable, 0);
 		}
-		return getPageFromList(new ArrayList<>(result), pageable,
-				getRunningTaskExecutionCountByTaskName(taskName));
+		return getPage(index.runningExecutions.values(), pageable, index.runningCount.get());
 	}
 
 	@Override
 	public Page<TaskExecution> findTaskExecutionsByName(String taskName, Pageable pageable) {
-		Set<TaskExecution> filteredSet = getTaskExecutionTreeSet();
-		for (Map.Entry<Long, TaskExecution> entry : taskExecutions.entrySet()) {
-			if (entry.getValue().getTaskName().equals(taskName)) {
-				filteredSet.add(entry.getValue());
-			}
+		TaskNameIndex index = getTaskNameIndex(taskName);
+		if (index == null) {
+			return getPage(Collections.<TaskExecution>emptyList(), pageable, 0);
 		}
-		return getPageFromList(new ArrayList<TaskExecution>(filteredSet), pageable,
-				getTaskExecutionCountByTaskName(taskName));
+		return getPage(index.executions.values(), pageable, index.count.get());
 	}
 
 	@Override
 	public List<String> getTaskNames() {
-		Set<String> result = new TreeSet<>();
-		for (Map.Entry<Long, TaskExecution> entry : taskExecutions.entrySet()) {
-			result.add(entry.getValue().getTaskName());
-		}
-		return new ArrayList<String>(result);
+		return new ArrayList<String>(taskNameIndexes.keySet());
 	}
 
 	@Override
 	public Page<TaskExecution> findAll(Pageable pageable) {
-		TreeSet<TaskExecution> sortedSet = getTaskExecutionTreeSet();
-		sortedSet.addAll(taskExecutions.values());
-		List<TaskExecution> result = new ArrayList<>(sortedSet.descendingSet());
-		return getPageFromList(result, pageable, getTaskExecutionCount());
+		return getPage(allExecutions.descendingMap().values(), pageable, getTaskExecutionCount());
+	}
+
+	@Override
+	public List<TaskExecution> findAllAfter(Date lastStartTime, long lastExecutionId, int pageSize) {
+		return getKeysetPage(allExecutions, lastStartTime, lastExecutionId, pageSize);
+	}
+
+	@Override
+	public List<TaskExecution> findTaskExecutionsByNameAfter(String taskName,
+			Date lastStartTime, long lastExecutionId, int pageSize) {
+		TaskNameIndex index = getTaskNameIndex(taskName);
+		if (index == null) {
+			return new ArrayList<>();
+		}
+		return getKeysetPage(index.executions, lastStartTime, lastExecutionId, pageSize);
+	}
+
+	/**
+	 * Iterates the start time index, which reflects executions stored while the
+	 * iteration is in progress on a best effort basis rather than copying it.
+	 */
+	@Override
+	public void forEachTaskExecution(TaskExecutionCallback callback) {
+		Assert.notNull(callback, "callback must not be null");
+		for (TaskExecution taskExecution : allExecutions.descendingMap().values()) {
+			callback.processTaskExecution(taskExecution);
+		}
+	}
+
+	@Override
+	public List<Long> findCompletedTaskExecutionIdsStartedBefore(Date startTime, int maxResults) {
+		Assert.notNull(startTime, "startTime must not be null");
+		List<Long> result = new ArrayList<>();
+		NavigableMap<ExecutionKey, TaskExecution> startedBefore =
+				allExecutions.headMap(new ExecutionKey(startTime.getTime(), Long.MIN_VALUE), false);
+		for (ExecutionKey key : startedBefore.keySet()) {
+			if (result.size() >= maxResults) {
+				break;
+			}
+			if (!key.running) {
+				result.add(key.executionId);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<Long> findOldestCompletedTaskExecutionIds(String taskName, int maxResults) {
+		List<Long> result = new ArrayList<>();
+		TaskNameIndex index = getTaskNameIndex(taskName);
+		if (index == null) {
+			return result;
+		}
+		for (ExecutionKey key : index.executions.keySet()) {
+			if (result.size() >= maxResults) {
+				break;
+			}
+			if (!key.running) {
+				result.add(key.executionId);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public int deleteTaskExecutions(Collection<Long> executionIds) {
+		return removeTaskExecutions(executionIds, false);
+	}
+
+	@Override
+	public int archiveTaskExecutions(Collection<Long> executionIds) {
+		return removeTaskExecutions(executionIds, true);
 	}
 
 	public Map<Long, TaskExecution> getTaskExecutions() {
 		return Collections.unmodifiableMap(taskExecutions);
 	}
 
+	public Map<Long, TaskExecution> getArchivedTaskExecutions() {
+		return Collections.unmodifiableMap(archivedTaskExecutions);
+	}
+
 	public long getNextExecutionId(){
 		return currentId.getAndIncrement();
 	}
 
-	private TreeSet<TaskExecution> getTaskExecutionTreeSet() {
-		return new TreeSet<TaskExecution>(new Comparator<TaskExecution>() {
-			@Override
-			public int compare(TaskExecution e1, TaskExecution e2) {
-				int result = e1.getStartTime().compareTo(e2.getStartTime());
-				if (result == 0){
-					result = Long.valueOf(e1.getExecutionId()).compareTo(e2.getExecutionId());
+	/**
+	 * Stores the execution and moves it to the index positions matching its current
+	 * state.  Writes are serialized so the indexes and counters stay consistent.
+	 */
+	private void store(TaskExecution taskExecution) {
+		ExecutionKey key = new ExecutionKey(taskExecution);
+		synchronized (monitor) {
+			ExecutionKey previousKey = executionKeys.put(key.executionId, key);
+			TaskNameIndex previousIndex = null;
+			if (previousKey != null) {
+				allExecutions.remove(previousKey);
+				previousIndex = getTaskNameIndex(previousKey.taskName);
+				if (previousIndex != null) {
+					previousIndex.remove(previousKey);
 				}
-				return result;
 			}
-		});
+			taskExecutions.put(key.executionId, taskExecution);
+			allExecutions.put(key, taskExecution);
+			if (key.taskName != null) {
+				TaskNameIndex index = taskNameIndexes.get(key.taskName);
+				if (index == null) {
+					index = new TaskNameIndex();
+					taskNameIndexes.put(key.taskName, index);
+				}
+				index.add(key, taskExecution);
+			}
+			// The execution was renamed away from the last execution of a task name.
+			if (previousIndex != null && previousIndex.count.get() == 0) {
+				taskNameIndexes.remove(previousKey.taskName);
+			}
+		}
+	}
+
+	/**
+	 * Removes the completed executions with the ids provided from the map and the
+	 * indexes, optionally moving them to the archive.
+	 */
+	private int removeTaskExecutions(Collection<Long> executionIds, boolean archive) {
+		Assert.notNull(executionIds, "executionIds must not be null");
+		int removed = 0;
+		synchronized (monitor) {
+			for (Long executionId : executionIds) {
+				ExecutionKey key = executionKeys.get(executionId);
+				if (key == null || key.running) {
+					continue;
+				}
+				executionKeys.remove(executionId);
+				allExecutions.remove(key);
+				TaskExecution taskExecution = taskExecutions.remove(executionId);
+				TaskNameIndex index = getTaskNameIndex(key.taskName);
+				if (index != null) {
+					index.remove(key);
+					if (index.count.get() == 0) {
+						taskNameIndexes.remove(key.taskName);
+					}
+				}
+				if (archive) {
+					archivedTaskExecutions.put(executionId, taskExecution);
+				}
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	private TaskNameIndex getTaskNameIndex(String taskName) {
+		return (taskName == null) ? null : taskNameIndexes.get(taskName);
+	}
+
+	private List<TaskExecution> getKeysetPage(NavigableMap<ExecutionKey, TaskExecution> sortedMap,
+			Date lastStartTime, long lastExecutionId, int pageSize) {
+		NavigableMap<ExecutionKey, TaskExecution> descendingMap = sortedMap.descendingMap();
+		if (lastStartTime != null) {
+			descendingMap = descendingMap.tailMap(
+					new ExecutionKey(lastStartTime.getTime(), lastExecutionId), false);
+		}
+		List<TaskExecution> result = new ArrayList<>();
+		for (TaskExecution taskExecution : descendingMap.values()) {
+			if (result.size() >= pageSize) {
+				break;
+			}
+			result.add(taskExecution);
+		}
+		return result;
+	}
+
+	private Page<TaskExecution> getPage(Collection<TaskExecution> executions, Pageable pageable, long maxSize){
+		List<TaskExecution> result = new ArrayList<>();
+		int index = 0;
+		for (TaskExecution taskExecution : executions) {
+			if (result.size() >= pageable.getPageSize()) {
+				break;
+			}
+			if (index++ >= pageable.getOffset()) {
+				result.add(taskExecution);
+			}
+		}
+		return new PageImpl<TaskExecution>(result, pageable, maxSize);
+	}
+
+	/**
+	 * Immutable snapshot of the fields of an execution that determine its index
+	 * positions, ordered by start time and execution id.
+	 */
+	private static class ExecutionKey implements Comparable<ExecutionKey> {
+
+		private final long startTime;
+
+		private final long executionId;
+
+		private final String taskName;
+
+		private final boolean running;
+
+		ExecutionKey(TaskExecution taskExecution) {
+			this.startTime = taskExecution.getStartTime().getTime();
+			this.executionId = taskExecution.getExecutionId();
+			this.taskName = taskExecution.getTaskName();
+			this.running = taskExecution.getEndTime() == null;
+		}
+
+		ExecutionKey(long startTime, long executionId) {
+			this.startTime = startTime;
+			this.executionId = executionId;
+			this.taskName = null;
+			this.running = false;
+		}
+
+		@Override
+		public int compareTo(ExecutionKey other) {
+			int result = Long.compare(startTime, other.startTime);
+			if (result == 0) {
+				result = Long.compare(executionId, other.executionId);
+			}
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof ExecutionKey)) {
+				return false;
+			}
+			ExecutionKey other = (ExecutionKey) o;
+			return startTime == other.startTime && executionId == other.executionId;
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (31 * startTime + executionId);
+		}
 	}
 
-	private Page getPageFromList(List<TaskExecution> executionList, Pageable pageable, long maxSize){
-		int toIndex = (pageable.getOffset() + pageable.getPageSize() > executionList.size()) ?
-				executionList.size() : pageable.getOffset() + pageable.getPageSize();
-		return new PageImpl<TaskExecution>(
-				executionList.subList(pageable.getOffset(), toIndex),
-				pageable, maxSize);
+	/**
+	 * The executions and running executions of a single task name.
+	 */
+	private static class TaskNameIndex {
+
+		private final ConcurrentNavigableMap<ExecutionKey, TaskExecution> executions =
+				new ConcurrentSkipListMap<>();
+
+		private final ConcurrentNavigableMap<ExecutionKey, TaskExecution> runningExecutions =
+				new ConcurrentSkipListMap<>();
+
+		private final AtomicLong count = new AtomicLong();
+
+		private final AtomicLong runningCount = new AtomicLong();
+
+		void add(ExecutionKey key, TaskExecution taskExecution) {
+			executions.put(key, taskExecution);
+			count.incrementAndGet();
+			if (key.running) {
+				runningExecutions.put(key, taskExecution);
+				runningCount.incrementAndGet();
+			}
+		}
+
+		void remove(ExecutionKey key) {
+			if (executions.remove(key) != null) {
+				count.decrementAndGet();
+			}
+			if (runningExecutions.remove(key) != null) {
+				runningCount.decrementAndGet();
+			}
+		}
 	}
 }
@@ -16,9 +16,12 @@
 
 package org.springframework.cloud.task.repository.dao;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExecutionCallback;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -51,6 +54,15 @@ public interface TaskExecutionDao {
 	 */
 	TaskExecution getTaskExecution(long executionId);
 
+	/**
+	 * Retrieves the task executions with the ids provided.
+	 *
+	 * @param executionIds the ids of the task executions to be retrieved.
+	 * @return the task executions found, in the order of the ids provided.  Ids that
+	 * have no task execution are skipped.
+	 */
+	List<TaskExecution> getTaskExecutions(Collection<Long> executionIds);
+
 	/**
 	 * Retrieves current number of task executions for a taskName.
 	 *
@@ -107,6 +119,82 @@ public interface TaskExecutionDao {
 
 	public Page<TaskExecution> findAll(Pageable pageable);
 
+	/**
+	 * Retrieves the task executions that follow the last one read, sorted by start time
+	 * descending, task execution id descending (keyset paging).  The cost of the
+	 * retrieval does not depend on how many task executions have already been read.
+	 * Task executions without a start time are not returned.
+	 *
+	 * @param lastStartTime the start time of the last task execution read, or null to
+	 * retrieve the first task executions.
+	 * @param lastExecutionId the id of the last task execution read.
+	 * @param pageSize the maximum number of task executions to be returned.
+	 * @return the task executions that follow the last one read.
+	 */
+	List<TaskExecution> findAllAfter(Date lastStartTime, long lastExecutionId, int pageSize);
+
+	/**
+	 * Retrieves the task executions for a task name that follow the last one read,
+	 * sorted by start time descending, task execution id descending (keyset paging).
+	 * Task executions without a start time are not returned.
+	 *
+	 * @param taskName the name of the task to search for in the repository.
+	 * @param lastStartTime the start time of the last task execution read, or null to
+	 * retrieve the first task executions.
+	 * @param lastExecutionId the id of the last task execution read.
+	 * @param pageSize the maximum number of task executions to be returned.
+	 * @return the task executions that follow the last one read.
+	 */
+	List<TaskExecution> findTaskExecutionsByNameAfter(String taskName, Date lastStartTime,
+			long lastExecutionId, int pageSize);
+
+	/**
+	 * Hands every task execution to the callback, sorted by start time descending,
+	 * task execution id descending, reading them from the repository as the
+	 * callback consumes them.
+	 *
+	 * @param callback the callback each task execution is handed to.
+	 */
+	void forEachTaskExecution(TaskExecutionCallback callback);
+
+	/**
+	 * Retrieves the ids of completed task executions that started before the time
+	 * provided, sorted by start time ascending, task execution id ascending.
+	 *
+	 * @param startTime the time before which the task executions started.
+	 * @param maxResults the maximum number of ids to be returned.
+	 * @return the ids of the oldest matching task executions.
+	 */
+	List<Long> findCompletedTaskExecutionIdsStartedBefore(Date startTime, int maxResults);
+
+	/**
+	 * Retrieves the ids of the oldest completed task executions for a task name, sorted
+	 * by start time ascending, task execution id ascending.
+	 *
+	 * @param taskName the name of the task to search for in the repository.
+	 * @param maxResults the maximum number of ids to be returned.
+	 * @return the ids of the oldest completed task executions of the task.
+	 */
+	List<Long> findOldestCompletedTaskExecutionIds(String taskName, int maxResults);
+
+	/**
+	 * Removes the task executions with the ids provided along with their parameters.
+	 * Task executions that are still running are not removed.
+	 *
+	 * @param executionIds the ids of the task executions to be removed.
+	 * @return the number of task executions removed.
+	 */
+	int deleteTaskExecutions(Collection<Long> executionIds);
+
+	/**
+	 * Moves the task executions with the ids provided along with their parameters to
+	 * the archive.  Task executions that are still running are not moved.
+	 *
+	 * @param executionIds the ids of the task executions to be archived.
+	 * @return the number of task executions archived.
+	 */
+	int archiveTaskExecutions(Collection<Long> executionIds);
+
 	/**
 	 * Retrieves the next available execution id for a task execution.
 	 * @return long containing the executionId.
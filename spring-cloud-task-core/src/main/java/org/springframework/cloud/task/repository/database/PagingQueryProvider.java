@@ -65,4 +65,49 @@ public interface PagingQueryProvider {
 	 * @return the generated query
 	 */
 	String getPageQuery(Pageable pageable);
+
+	/**
+	 * Generate the query that will provide the jump to item query with the offset and
+	 * page size declared as parameters rather than written into the query, so that the
+	 * same statement is used for every page and can be reused from the statement
+	 * caches of the database and the driver.  The query declares the parameters of the
+	 * where clause followed by the values returned by
+	 * {@link #getPageParameterValues(Pageable)}.
+	 *
+	 * @return the generated query
+	 */
+	String getParameterizedPageQuery();
+
+	/**
+	 * Generate the parameter values to be bound to the paging part of the query returned
+	 * by {@link #getParameterizedPageQuery()}.
+	 *
+	 * @param pageable the coordinates to pull the next page from the datasource
+	 * @return the values to be bound after the parameters of the where clause
+	 */
+	Object[] getPageParameterValues(Pageable pageable);
+
+	/**
+	 * Generate the query that will provide the page of items that immediately follows
+	 * the item with the given sort key values (keyset or "seek" paging).  Unlike the
+	 * query returned by {@link #getPageQuery(Pageable)}, the cost of this query does not
+	 * grow with the position of the page.  As with {@link #getParameterizedPageQuery()}
+	 * the page size is declared as a parameter, so the same statement is used for
+	 * every page.  The query declares the parameters of the where clause followed by
+	 * the values returned by {@link #getKeysetParameterValues(Object[], int)}.
+	 *
+	 * @return the generated query
+	 */
+	String getKeysetPageQuery();
+
+	/**
+	 * Generate the parameter values to be bound to the keyset and paging part of the
+	 * query returned by {@link #getKeysetPageQuery()}.
+	 *
+	 * @param sortKeyValues the values of the sort keys of the last item that was read,
+	 * in the order of {@link #getSortKeys()}
+	 * @param pageSize the maximum number of items to be returned
+	 * @return the values to be bound after the parameters of the where clause
+	 */
+	Object[] getKeysetParameterValues(Object[] sortKeyValues, int pageSize);
 }
@@ -17,6 +17,7 @@
 package org.springframework.cloud.task.repository.database.support;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,10 @@ public abstract class AbstractSqlPagingQueryProvider implements PagingQueryProvi
 
 	private boolean usingNamedParameters;
 
+	private boolean includeTotalCount;
+
+	private String deferredJoinKey;
+
 	/**
 	 * @param selectClause SELECT clause part of SQL query string
 	 */
@@ -66,12 +71,90 @@ public abstract class AbstractSqlPagingQueryProvider implements PagingQueryProvi
 
 	/**
 	 *
-	 * @return SQL SELECT clause part of SQL query string
+	 * @return SQL SELECT clause part of SQL query string, including the total count
+	 * column if {@link #setIncludeTotalCount(boolean)} is enabled
 	 */
 	protected String getSelectClause() {
+		if (includeTotalCount) {
+			return selectClause + ", " + SqlPagingQueryUtils.TOTAL_COUNT_EXPRESSION
+					+ " AS " + SqlPagingQueryUtils.TOTAL_COUNT_COLUMN;
+		}
+		return selectClause;
+	}
+
+	/**
+	 *
+	 * @return SQL SELECT clause to be used by a query that selects from the results of
+	 * a query using {@link #getSelectClause()}
+	 */
+	protected String getOuterSelectClause() {
+		if (includeTotalCount) {
+			return selectClause + ", " + SqlPagingQueryUtils.TOTAL_COUNT_COLUMN;
+		}
 		return selectClause;
 	}
 
+	/**
+	 * Sets whether the page query should return, in the
+	 * {@link SqlPagingQueryUtils#TOTAL_COUNT_COLUMN} column of each row, the total number
+	 * of rows matching the where clause so that a separate count query is not required.
+	 * Requires a database that supports the {@code COUNT(*) OVER ()} window function.
+	 *
+	 * @param includeTotalCount true if the total count should be included
+	 */
+	public void setIncludeTotalCount(boolean includeTotalCount) {
+		this.includeTotalCount = includeTotalCount;
+	}
+
+	/**
+	 *
+	 * @return true if the page query includes the total count column
+	 */
+	public boolean isIncludeTotalCount() {
+		return includeTotalCount;
+	}
+
+	/**
+	 * Sets the unique column used to join the rows of a page back to the table when the
+	 * page query is generated as a deferred join.  A deferred join first selects only
+	 * the key of the rows of the page, which can be read from the index on the sort
+	 * keys, and then joins back on the key to retrieve the selected columns, so the
+	 * rows skipped by the offset are never read in full.  Only applied by providers
+	 * whose database supports it, see {@link #isDeferredJoinSupported()}.  Defaults to
+	 * null, in which case the page query reads the selected columns directly.
+	 *
+	 * @param deferredJoinKey the unique column to join back on, or null
+	 */
+	public void setDeferredJoinKey(String deferredJoinKey) {
+		this.deferredJoinKey = StringUtils.hasText(deferredJoinKey) ? deferredJoinKey.trim() : null;
+	}
+
+	/**
+	 *
+	 * @return the unique column used to join back to the rows of the page
+	 */
+	protected String getDeferredJoinKey() {
+		return deferredJoinKey;
+	}
+
+	/**
+	 * Indicates whether the database supports page queries generated as a deferred
+	 * join.  Defaults to false.
+	 *
+	 * @return true if deferred join page queries are supported
+	 */
+	protected boolean isDeferredJoinSupported() {
+		return false;
+	}
+
+	/**
+	 *
+	 * @return true if page queries should be generated as a deferred join
+	 */
+	protected boolean isDeferredJoin() {
+		return deferredJoinKey != null && isDeferredJoinSupported();
+	}
+
 	/**
 	 * @param fromClause FROM clause part of SQL query string
 	 */
@@ -134,6 +217,28 @@ public abstract class AbstractSqlPagingQueryProvider implements PagingQueryProvi
 		return usingNamedParameters;
 	}
 
+	@Override
+	public Object[] getKeysetParameterValues(Object[] sortKeyValues, int pageSize) {
+		Object[] keysetValues = SqlPagingQueryUtils.buildKeysetParameterValues(this,
+				sortKeyValues, isRowValueComparisonSupported());
+		// Every keyset query ends with its limit, so the page size is bound last.
+		Object[] values = Arrays.copyOf(keysetValues, keysetValues.length + 1);
+		values[keysetValues.length] = pageSize;
+		return values;
+	}
+
+	/**
+	 * Indicates whether the database supports comparing row value constructors, e.g.
+	 * {@code (START_TIME, TASK_EXECUTION_ID) < (?, ?)}, in a way that can use an index
+	 * on the sort keys.  Defaults to false, in which case keyset queries use the
+	 * equivalent expanded predicate.
+	 *
+	 * @return true if keyset queries should use a row value comparison
+	 */
+	protected boolean isRowValueComparisonSupported() {
+		return false;
+	}
+
 	@Override
 	public void init(DataSource dataSource) throws Exception {
 		Assert.notNull(dataSource);
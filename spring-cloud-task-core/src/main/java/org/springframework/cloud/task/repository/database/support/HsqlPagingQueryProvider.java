@@ -34,4 +34,33 @@ public class HsqlPagingQueryProvider extends AbstractSqlPagingQueryProvider {
 		return SqlPagingQueryUtils.generateTopJumpToQuery(this, topClause);
 	}
 
+	/**
+	 * Uses a trailing LIMIT clause so that the paging parameters follow the parameters
+	 * of the where clause.
+	 */
+	@Override
+	public String getParameterizedPageQuery() {
+		return SqlPagingQueryUtils.generateLimitJumpToQuery(this, "LIMIT ? OFFSET ?");
+	}
+
+	@Override
+	public Object[] getPageParameterValues(Pageable pageable) {
+		return new Object[] { pageable.getPageSize(), pageable.getOffset() };
+	}
+
+	/**
+	 * Uses a trailing LIMIT clause so that the page size follows the keyset
+	 * parameters.
+	 */
+	@Override
+	public String getKeysetPageQuery() {
+		return SqlPagingQueryUtils.generateLimitKeysetQuery(this, "LIMIT ?",
+				isRowValueComparisonSupported());
+	}
+
+	@Override
+	protected boolean isRowValueComparisonSupported() {
+		return true;
+	}
+
 }
@@ -30,7 +30,34 @@ public class MySqlPagingQueryProvider extends AbstractSqlPagingQueryProvider {
 		String topClause = new StringBuilder().append("LIMIT ")
 				.append(pageable.getOffset()).append(", ")
 				.append(pageable.getPageSize()).toString();
-		return SqlPagingQueryUtils.generateLimitJumpToQuery(this, topClause);
+		return generateJumpToQuery(topClause);
+	}
+
+	@Override
+	public String getParameterizedPageQuery() {
+		return generateJumpToQuery("LIMIT ?, ?");
+	}
+
+	@Override
+	public Object[] getPageParameterValues(Pageable pageable) {
+		return new Object[] { pageable.getOffset(), pageable.getPageSize() };
+	}
+
+	@Override
+	public String getKeysetPageQuery() {
+		return SqlPagingQueryUtils.generateLimitKeysetQuery(this, "LIMIT ?",
+				isRowValueComparisonSupported());
+	}
+
+	@Override
+	protected boolean isDeferredJoinSupported() {
+		return true;
+	}
+
+	private String generateJumpToQuery(String limitClause) {
+		return isDeferredJoin()
+				? SqlPagingQueryUtils.generateDeferredJoinLimitJumpToQuery(this, limitClause)
+				: SqlPagingQueryUtils.generateLimitJumpToQuery(this, limitClause);
 	}
 
 }
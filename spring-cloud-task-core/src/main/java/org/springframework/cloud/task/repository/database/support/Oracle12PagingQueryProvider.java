@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.database.support;
+
+import org.springframework.cloud.task.repository.database.PagingQueryProvider;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Oracle 12c and later implementation of a {@link PagingQueryProvider} using the
+ * {@code OFFSET ... ROWS FETCH NEXT ... ROWS ONLY} row limiting clause, which lets the
+ * optimizer stop once the page has been read without nesting the query.
+ */
+public class Oracle12PagingQueryProvider extends OraclePagingQueryProvider {
+
+	@Override
+	public String getPageQuery(Pageable pageable) {
+		return SqlPagingQueryUtils.generateLimitJumpToQuery(this, "OFFSET "
+				+ pageable.getOffset() + " ROWS FETCH NEXT " + pageable.getPageSize()
+				+ " ROWS ONLY");
+	}
+
+	@Override
+	public String getParameterizedPageQuery() {
+		return SqlPagingQueryUtils.generateLimitJumpToQuery(this,
+				"OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+	}
+
+	@Override
+	public Object[] getPageParameterValues(Pageable pageable) {
+		return new Object[] { pageable.getOffset(), pageable.getPageSize() };
+	}
+
+	@Override
+	public String getKeysetPageQuery() {
+		return SqlPagingQueryUtils.generateLimitKeysetQuery(this,
+				"FETCH FIRST ? ROWS ONLY", isRowValueComparisonSupported());
+	}
+
+}
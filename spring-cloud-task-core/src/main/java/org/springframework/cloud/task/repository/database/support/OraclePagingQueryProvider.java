@@ -21,15 +21,37 @@ import org.springframework.data.domain.Pageable;
 
 /**
  * Oracle implementation of a {@link PagingQueryProvider} using database specific features.
+ * Pages are selected with ROWNUM conditions, the last row of the page is applied to the
+ * query numbering the rows so that Oracle only sorts the rows up to the end of the page.
  *
  * @author Glenn Renfro
+ * @see Oracle12PagingQueryProvider
  */
 public class OraclePagingQueryProvider extends AbstractSqlPagingQueryProvider {
 
 	@Override
 	public String getPageQuery(Pageable pageable) {
-		int offset = pageable.getOffset()+1;
-		return SqlPagingQueryUtils.generateRowNumSqlQueryWithNesting(this, getSelectClause(), getSelectClause(), false, "TMP_ROW_NUM >= "
-				+ offset + " AND TMP_ROW_NUM < " + (offset+pageable.getPageSize()));
+		int offset = pageable.getOffset() + 1;
+		return SqlPagingQueryUtils.generateRowNumSqlQueryWithStopKey(this, getSelectClause(),
+				getOuterSelectClause(), "ROWNUM < " + (offset + pageable.getPageSize()),
+				"TMP_ROW_NUM >= " + offset);
+	}
+
+	@Override
+	public String getParameterizedPageQuery() {
+		return SqlPagingQueryUtils.generateRowNumSqlQueryWithStopKey(this, getSelectClause(),
+				getOuterSelectClause(), "ROWNUM < ?", "TMP_ROW_NUM >= ?");
+	}
+
+	@Override
+	public Object[] getPageParameterValues(Pageable pageable) {
+		int offset = pageable.getOffset() + 1;
+		return new Object[] { offset + pageable.getPageSize(), offset };
+	}
+
+	@Override
+	public String getKeysetPageQuery() {
+		return SqlPagingQueryUtils.generateRowNumKeysetQuery(this, "ROWNUM <= ?",
+				isRowValueComparisonSupported());
 	}
 }
@@ -31,6 +31,38 @@ public class PostgresPagingQueryProvider extends AbstractSqlPagingQueryProvider
 		String limitClause = new StringBuilder().append("LIMIT ").
 				append(pageable.getPageSize()).append(" OFFSET ").
 				append(pageable.getOffset()).toString();
-		return SqlPagingQueryUtils.generateLimitJumpToQuery(this, limitClause);
+		return generateJumpToQuery(limitClause);
+	}
+
+	@Override
+	public String getParameterizedPageQuery() {
+		return generateJumpToQuery("LIMIT ? OFFSET ?");
+	}
+
+	@Override
+	public Object[] getPageParameterValues(Pageable pageable) {
+		return new Object[] { pageable.getPageSize(), pageable.getOffset() };
+	}
+
+	@Override
+	public String getKeysetPageQuery() {
+		return SqlPagingQueryUtils.generateLimitKeysetQuery(this, "LIMIT ?",
+				isRowValueComparisonSupported());
+	}
+
+	@Override
+	protected boolean isRowValueComparisonSupported() {
+		return true;
+	}
+
+	@Override
+	protected boolean isDeferredJoinSupported() {
+		return true;
+	}
+
+	private String generateJumpToQuery(String limitClause) {
+		return isDeferredJoin()
+				? SqlPagingQueryUtils.generateDeferredJoinLimitJumpToQuery(this, limitClause)
+				: SqlPagingQueryUtils.generateLimitJumpToQuery(this, limitClause);
 	}
 }
@@ -31,7 +31,9 @@ import javax.sql.DataSource;
 import org.springframework.batch.item.database.Order;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.cloud.task.repository.database.PagingQueryProvider;
+import org.springframework.cloud.task.repository.support.DatabaseDialect;
 import org.springframework.cloud.task.repository.support.DatabaseType;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -39,7 +41,9 @@ import org.springframework.util.StringUtils;
 /**
  * Factory bean for {@link PagingQueryProvider} interface. The database type
  * will be determined from the data source if not provided explicitly. Valid
- * types are given by the {@link DatabaseType} enum.
+ * types are given by the {@link DatabaseType} enum.  For Oracle, the
+ * {@link Oracle12PagingQueryProvider} is used if the data source reports a major
+ * version of 12 or later.
  *
  * @author Glenn Renfro
  */
@@ -49,6 +53,8 @@ public class SqlPagingQueryProviderFactoryBean implements FactoryBean<PagingQuer
 
 	private String databaseType;
 
+	private DatabaseDialect databaseDialect;
+
 	private String fromClause;
 
 	private String whereClause;
@@ -57,6 +63,10 @@ public class SqlPagingQueryProviderFactoryBean implements FactoryBean<PagingQuer
 
 	private Map<String, Order> sortKeys;
 
+	private boolean includeTotalCount;
+
+	private String deferredJoinKey;
+
 	private Map<DatabaseType, AbstractSqlPagingQueryProvider> providers = new HashMap<DatabaseType, AbstractSqlPagingQueryProvider>();
 
 
@@ -76,6 +86,16 @@ public class SqlPagingQueryProviderFactoryBean implements FactoryBean<PagingQuer
 		this.databaseType = databaseType;
 	}
 
+	/**
+	 * Sets the dialect of the database, in which case neither the database type nor
+	 * its version are read from the data source.
+	 *
+	 * @param databaseDialect the databaseDialect to set
+	 */
+	public void setDatabaseDialect(DatabaseDialect databaseDialect) {
+		this.databaseDialect = databaseDialect;
+	}
+
 	/**
 	 * @param dataSource the dataSource to set
 	 */
@@ -114,6 +134,23 @@ public class SqlPagingQueryProviderFactoryBean implements FactoryBean<PagingQuer
 		this.sortKeys = sortKeys;
 	}
 
+	/**
+	 * @param includeTotalCount whether the page query should include the total count
+	 * @see AbstractSqlPagingQueryProvider#setIncludeTotalCount(boolean)
+	 */
+	public void setIncludeTotalCount(boolean includeTotalCount) {
+		this.includeTotalCount = includeTotalCount;
+	}
+
+	/**
+	 * @param deferredJoinKey the unique column page queries join back on when they are
+	 * generated as a deferred join
+	 * @see AbstractSqlPagingQueryProvider#setDeferredJoinKey(String)
+	 */
+	public void setDeferredJoinKey(String deferredJoinKey) {
+		this.deferredJoinKey = deferredJoinKey;
+	}
+
 	/**
 	 * Get a {@link PagingQueryProvider} instance using the provided properties
 	 * and appropriate for the given database type.
@@ -124,21 +161,32 @@ public class SqlPagingQueryProviderFactoryBean implements FactoryBean<PagingQuer
 	public PagingQueryProvider getObject() throws Exception {
 
 		DatabaseType type;
-		try {
-			type = databaseType != null ? DatabaseType.valueOf(databaseType.toUpperCase()) : DatabaseType
-					.fromMetaData(dataSource);
+		boolean offsetFetchSupported;
+		if (databaseDialect != null) {
+			type = databaseDialect.getDatabaseType();
+			offsetFetchSupported = databaseDialect.isOffsetFetchSupported();
 		}
-		catch (MetaDataAccessException e) {
-			throw new IllegalArgumentException(
-					"Could not inspect meta data for database type.  You have to supply it explicitly.", e);
+		else {
+			try {
+				type = databaseType != null ? DatabaseType.valueOf(databaseType.toUpperCase()) : DatabaseType
+						.fromMetaData(dataSource);
+			}
+			catch (MetaDataAccessException e) {
+				throw new IllegalArgumentException(
+						"Could not inspect meta data for database type.  You have to supply it explicitly.", e);
+			}
+			offsetFetchSupported = (type == ORACLE && isOracle12OrLater());
 		}
 
-		AbstractSqlPagingQueryProvider provider = providers.get(type);
+		AbstractSqlPagingQueryProvider provider = offsetFetchSupported
+				? new Oracle12PagingQueryProvider() : providers.get(type);
 		Assert.state(provider != null, "Should not happen: missing PagingQueryProvider for DatabaseType=" + type);
 
 		provider.setFromClause(fromClause);
 		provider.setWhereClause(whereClause);
 		provider.setSortKeys(sortKeys);
+		provider.setIncludeTotalCount(includeTotalCount);
+		provider.setDeferredJoinKey(deferredJoinKey);
 		if (StringUtils.hasText(selectClause)) {
 			provider.setSelectClause(selectClause);
 		}
@@ -148,6 +196,25 @@ public class SqlPagingQueryProviderFactoryBean implements FactoryBean<PagingQuer
 
 	}
 
+	/**
+	 * Indicates whether the data source is an Oracle 12c or later database, which
+	 * supports the row limiting clause.  If the version can not be determined the
+	 * ROWNUM based provider is used.
+	 */
+	private boolean isOracle12OrLater() {
+		if (dataSource == null) {
+			return false;
+		}
+		try {
+			Object majorVersion = JdbcUtils.extractDatabaseMetaData(dataSource,
+					"getDatabaseMajorVersion");
+			return majorVersion instanceof Integer && (Integer) majorVersion >= 12;
+		}
+		catch (MetaDataAccessException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Always returns {@link PagingQueryProvider}.
 	 *
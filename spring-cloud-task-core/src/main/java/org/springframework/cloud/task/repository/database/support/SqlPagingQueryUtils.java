@@ -16,9 +16,12 @@
 
 package org.springframework.cloud.task.repository.database.support;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.batch.item.database.Order;
+import org.springframework.util.Assert;
 
 /**
  * Utility class that generates the actual SQL statements used by query
@@ -28,6 +31,17 @@ import org.springframework.batch.item.database.Order;
  */
 public class SqlPagingQueryUtils {
 
+	/**
+	 * The alias of the column that contains the total number of rows matching the
+	 * query when the total count is requested with the page.
+	 */
+	public static final String TOTAL_COUNT_COLUMN = "TOTAL_COUNT";
+
+	/**
+	 * The window function used to compute the total number of rows with the page.
+	 */
+	public static final String TOTAL_COUNT_EXPRESSION = "COUNT(*) OVER ()";
+
 	/**
 	 * Generate SQL query string using a LIMIT clause
 	 *
@@ -47,6 +61,38 @@ public class SqlPagingQueryUtils {
 		return sql.toString();
 	}
 
+	/**
+	 * Generate SQL query string as a deferred join using a LIMIT clause.  The LIMIT
+	 * clause is applied to a query selecting only the deferred join key (and the total
+	 * count if requested) whose results are joined back to the table to retrieve the
+	 * selected columns.
+	 *
+	 * @param provider {@link AbstractSqlPagingQueryProvider} providing the
+	 * implementation specifics
+	 * @param limitClause the implementation specific limit clause to be used
+	 * @return the generated query
+	 */
+	public static String generateDeferredJoinLimitJumpToQuery(AbstractSqlPagingQueryProvider provider,
+			String limitClause) {
+		String key = provider.getDeferredJoinKey();
+		Assert.hasText(key, "A deferred join key is required");
+		StringBuilder sql = new StringBuilder();
+		sql.append("SELECT ").append(provider.getOuterSelectClause());
+		sql.append(" FROM ").append(provider.getFromClause());
+		sql.append(" INNER JOIN (SELECT ").append(key);
+		if (provider.isIncludeTotalCount()) {
+			sql.append(", ").append(TOTAL_COUNT_EXPRESSION).append(" AS ").append(TOTAL_COUNT_COLUMN);
+		}
+		sql.append(" FROM ").append(provider.getFromClause());
+		sql.append(provider.getWhereClause() == null ? "" : " WHERE " + provider.getWhereClause());
+		sql.append(" ORDER BY ").append(buildSortClause(provider));
+		sql.append(" ").append(limitClause);
+		sql.append(") TMP_PAGE USING (").append(key).append(")");
+		sql.append(" ORDER BY ").append(buildSortClause(provider));
+
+		return sql.toString();
+	}
+
 	/**
 	 * Generate SQL query string using a TOP clause
 	 *
@@ -85,6 +131,181 @@ public class SqlPagingQueryUtils {
 
 	}
 
+	/**
+	 * Generate SQL query string using ROWNUM conditions.  The stop key clause is applied
+	 * to the query that numbers the rows so that the database can stop reading the
+	 * sorted rows once the last row of the page has been numbered (e.g. Oracle's COUNT
+	 * STOPKEY), the row num clause then removes the rows that precede the page.
+	 *
+	 * @param provider {@link AbstractSqlPagingQueryProvider} providing the
+	 * implementation specifics
+	 * @param innerSelectClause the select clause of the sorted query
+	 * @param outerSelectClause the select clause of the queries selecting from the
+	 * sorted query
+	 * @param stopKeyClause the ROWNUM condition limiting the rows that are numbered
+	 * @param rowNumClause the TMP_ROW_NUM condition applied to the numbered rows
+	 * @return the generated query
+	 */
+	public static String generateRowNumSqlQueryWithStopKey(AbstractSqlPagingQueryProvider provider,
+			String innerSelectClause, String outerSelectClause, String stopKeyClause,
+			String rowNumClause) {
+		StringBuilder sql = new StringBuilder();
+		sql.append("SELECT ").append(outerSelectClause).append(" FROM (SELECT ").append(outerSelectClause)
+				.append(", ").append("ROWNUM as TMP_ROW_NUM");
+		sql.append(" FROM (SELECT ").append(innerSelectClause).append(" FROM ").append(provider.getFromClause());
+		buildWhereClause(provider, false, sql);
+		sql.append(" ORDER BY ").append(buildSortClause(provider));
+		sql.append(") WHERE ").append(stopKeyClause);
+		sql.append(") WHERE ").append(rowNumClause);
+
+		return sql.toString();
+	}
+
+	/**
+	 * Generate SQL keyset query string using a LIMIT clause.
+	 *
+	 * @param provider {@link AbstractSqlPagingQueryProvider} providing the
+	 * implementation specifics
+	 * @param limitClause the implementation specific limit clause to be used
+	 * @param rowValueComparison whether the keyset predicate should compare row values
+	 * @return the generated query
+	 */
+	public static String generateLimitKeysetQuery(AbstractSqlPagingQueryProvider provider,
+			String limitClause, boolean rowValueComparison) {
+		StringBuilder sql = new StringBuilder();
+		sql.append("SELECT ").append(provider.getSelectClause());
+		sql.append(" FROM ").append(provider.getFromClause());
+		buildKeysetWhereClause(provider, rowValueComparison, sql);
+		sql.append(" ORDER BY ").append(buildSortClause(provider));
+		sql.append(" " + limitClause);
+
+		return sql.toString();
+	}
+
+	/**
+	 * Generate SQL keyset query string using a ROWNUM condition.
+	 *
+	 * @param provider {@link AbstractSqlPagingQueryProvider} providing the
+	 * implementation specifics
+	 * @param rowNumClause the implementation specific row num condition to be used
+	 * @param rowValueComparison whether the keyset predicate should compare row values
+	 * @return the generated query
+	 */
+	public static String generateRowNumKeysetQuery(AbstractSqlPagingQueryProvider provider,
+			String rowNumClause, boolean rowValueComparison) {
+		StringBuilder sql = new StringBuilder();
+		sql.append("SELECT * FROM (SELECT ").append(provider.getSelectClause());
+		sql.append(" FROM ").append(provider.getFromClause());
+		buildKeysetWhereClause(provider, rowValueComparison, sql);
+		sql.append(" ORDER BY ").append(buildSortClause(provider));
+		sql.append(") WHERE ").append(rowNumClause);
+
+		return sql.toString();
+	}
+
+	/**
+	 * Generates the predicate that restricts a query to the items that follow the
+	 * item identified by the sort key values, based on the order of the sort keys.
+	 * A row value comparison, e.g. {@code (START_TIME, TASK_EXECUTION_ID) < (?, ?)}, is
+	 * only generated if requested and all sort keys share the same order, otherwise
+	 * the equivalent expanded form is used, e.g.
+	 * {@code (START_TIME < ? OR (START_TIME = ? AND TASK_EXECUTION_ID < ?))}.
+	 *
+	 * @param provider {@link AbstractSqlPagingQueryProvider} providing the
+	 * implementation specifics
+	 * @param rowValueComparison whether a row value comparison is preferred
+	 * @return the keyset predicate
+	 */
+	public static String buildKeysetClause(AbstractSqlPagingQueryProvider provider,
+			boolean rowValueComparison) {
+		Map<String, Order> sortKeys = provider.getSortKeys();
+		StringBuilder builder = new StringBuilder();
+		if (rowValueComparison && isSingleOrder(sortKeys)) {
+			StringBuilder values = new StringBuilder();
+			String prefix = "";
+			for (String sortKey : sortKeys.keySet()) {
+				builder.append(prefix).append(sortKey);
+				values.append(prefix).append("?");
+				prefix = ", ";
+			}
+			builder.insert(0, "(").append(") ")
+					.append(getKeysetOperator(sortKeys.values().iterator().next()))
+					.append(" (").append(values).append(")");
+			return builder.toString();
+		}
+		List<Map.Entry<String, Order>> entries = new ArrayList<>(sortKeys.entrySet());
+		builder.append("(");
+		for (int i = 0; i < entries.size(); i++) {
+			StringBuilder condition = new StringBuilder();
+			for (int j = 0; j < i; j++) {
+				condition.append(entries.get(j).getKey()).append(" = ? AND ");
+			}
+			condition.append(entries.get(i).getKey()).append(" ")
+					.append(getKeysetOperator(entries.get(i).getValue())).append(" ?");
+			if (i > 0) {
+				builder.append(" OR (").append(condition).append(")");
+			}
+			else {
+				builder.append(condition);
+			}
+		}
+		builder.append(")");
+		return builder.toString();
+	}
+
+	/**
+	 * Generates the parameter values for the predicate created by
+	 * {@link #buildKeysetClause(AbstractSqlPagingQueryProvider, boolean)}.
+	 *
+	 * @param provider {@link AbstractSqlPagingQueryProvider} providing the
+	 * implementation specifics
+	 * @param sortKeyValues the values of the sort keys of the last item read, in the
+	 * order of the sort keys
+	 * @param rowValueComparison whether a row value comparison is preferred
+	 * @return the parameter values for the keyset predicate
+	 */
+	public static Object[] buildKeysetParameterValues(AbstractSqlPagingQueryProvider provider,
+			Object[] sortKeyValues, boolean rowValueComparison) {
+		Map<String, Order> sortKeys = provider.getSortKeys();
+		Assert.isTrue(sortKeyValues != null && sortKeyValues.length == sortKeys.size(),
+				"A value must be provided for each sort key");
+		if (rowValueComparison && isSingleOrder(sortKeys)) {
+			return sortKeyValues.clone();
+		}
+		List<Object> values = new ArrayList<>();
+		for (int i = 0; i < sortKeyValues.length; i++) {
+			for (int j = 0; j <= i; j++) {
+				values.add(sortKeyValues[j]);
+			}
+		}
+		return values.toArray();
+	}
+
+	private static void buildKeysetWhereClause(AbstractSqlPagingQueryProvider provider,
+			boolean rowValueComparison, StringBuilder sql) {
+		sql.append(" WHERE ");
+		if (provider.getWhereClause() != null) {
+			sql.append("(").append(provider.getWhereClause()).append(") AND ");
+		}
+		sql.append(buildKeysetClause(provider, rowValueComparison));
+	}
+
+	private static boolean isSingleOrder(Map<String, Order> sortKeys) {
+		Order order = null;
+		for (Order sortKeyOrder : sortKeys.values()) {
+			Order current = (sortKeyOrder == Order.DESCENDING) ? Order.DESCENDING : Order.ASCENDING;
+			if (order != null && order != current) {
+				return false;
+			}
+			order = current;
+		}
+		return true;
+	}
+
+	private static String getKeysetOperator(Order order) {
+		return (order == Order.DESCENDING) ? "<" : ">";
+	}
+
 	private static void buildWhereClause(AbstractSqlPagingQueryProvider provider, boolean remainingPageQuery,
 										 StringBuilder sql) {
 		if (remainingPageQuery) {
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link TaskRepository} that writes task executions to a delegate repository on a
+ * background thread so that the application thread does not wait on the task
+ * database.
+ *
+ * Writes are queued per execution id.  If an update is received for an execution
+ * whose creation has not yet been written, the two are coalesced into a single
+ * create containing the latest state.  The number of queued executions is bounded by
+ * the capacity, once it is reached callers wait for the writer to catch up.  When
+ * the repository is destroyed (as part of the application context being closed)
+ * pending writes are flushed, waiting no longer than the flush timeout.
+ *
+ * Since writes are performed asynchronously, failures reported by the delegate
+ * repository are logged rather than thrown to the caller.
+ */
+public class AsyncTaskRepository implements TaskRepository, DisposableBean {
+
+	public static final int DEFAULT_CAPACITY = 1000;
+
+	public static final long DEFAULT_FLUSH_TIMEOUT = 5000;
+
+	private final static Logger logger = LoggerFactory.getLogger(AsyncTaskRepository.class);
+
+	private final TaskRepository taskRepository;
+
+	private final Map<Long, PendingWrite> pendingWrites = new LinkedHashMap<>();
+
+	private final Object monitor = new Object();
+
+	private final Thread writer;
+
+	private int capacity = DEFAULT_CAPACITY;
+
+	private long flushTimeout = DEFAULT_FLUSH_TIMEOUT;
+
+	private int writesInProgress;
+
+	private boolean closed;
+
+	/**
+	 * @param taskRepository the repository the task executions are written to.
+	 */
+	public AsyncTaskRepository(TaskRepository taskRepository) {
+		Assert.notNull(taskRepository, "A taskRepository is required");
+		this.taskRepository = taskRepository;
+		this.writer = new Thread(new Writer(), "task-repository-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * Sets the maximum number of task executions that may be waiting to be written.
+	 * Defaults to {@link #DEFAULT_CAPACITY}.
+	 *
+	 * @param capacity the maximum number of pending task executions
+	 */
+	public void setCapacity(int capacity) {
+		Assert.isTrue(capacity > 0, "capacity must be greater than zero");
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Sets the maximum time in milliseconds to wait for pending writes when the
+	 * repository is destroyed.  Defaults to {@link #DEFAULT_FLUSH_TIMEOUT}.
+	 *
+	 * @param flushTimeout the flush timeout in milliseconds
+	 */
+	public void setFlushTimeout(long flushTimeout) {
+		this.flushTimeout = flushTimeout;
+	}
+
+	@Override
+	public void update(TaskExecution taskExecution) {
+		enqueue(taskExecution, false);
+	}
+
+	@Override
+	public void createTaskExecution(TaskExecution taskExecution) {
+		enqueue(taskExecution, true);
+	}
+
+	@Override
+	public long getNextExecutionId() {
+		return taskRepository.getNextExecutionId();
+	}
+
+	/**
+	 * Waits until all pending writes have been written to the delegate repository.
+	 *
+	 * @param timeout the maximum time to wait in milliseconds
+	 * @return true if all pending writes were written, false if the timeout elapsed
+	 */
+	public boolean flush(long timeout) {
+		long deadline = System.currentTimeMillis() + timeout;
+		synchronized (monitor) {
+			while (!pendingWrites.isEmpty() || writesInProgress > 0) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return false;
+				}
+				try {
+					monitor.wait(remaining);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Flushes the pending writes and stops the writer.  Writes received afterwards are
+	 * written directly to the delegate repository.
+	 */
+	@Override
+	public void destroy() {
+		synchronized (monitor) {
+			closed = true;
+			monitor.notifyAll();
+		}
+		if (!flush(flushTimeout)) {
+			int remaining;
+			synchronized (monitor) {
+				remaining = pendingWrites.size();
+			}
+			logger.warn(String.format("Pending task executions were not written within %s ms, "
+					+ "%s task execution(s) were not recorded.", flushTimeout, remaining));
+		}
+	}
+
+	private void enqueue(TaskExecution taskExecution, boolean create) {
+		Assert.notNull(taskExecution, "taskExecution should not be null");
+		TaskExecution snapshot = copy(taskExecution);
+		synchronized (monitor) {
+			if (!closed) {
+				PendingWrite pendingWrite = pendingWrites.get(snapshot.getExecutionId());
+				if (pendingWrite != null) {
+					pendingWrite.taskExecution = snapshot;
+					pendingWrite.create |= create;
+					return;
+				}
+				while (pendingWrites.size() >= capacity && !closed) {
+					try {
+						monitor.wait();
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IllegalStateException(
+								"Interrupted while waiting to record a task execution", e);
+					}
+				}
+				if (!closed) {
+					pendingWrites.put(snapshot.getExecutionId(), new PendingWrite(snapshot, create));
+					monitor.notifyAll();
+					return;
+				}
+			}
+		}
+		// Make sure earlier writes for this execution are not applied after this one.
+		flush(flushTimeout);
+		write(new PendingWrite(snapshot, create));
+	}
+
+	private void write(PendingWrite pendingWrite) {
+		if (pendingWrite.create) {
+			taskRepository.createTaskExecution(pendingWrite.taskExecution);
+		}
+		else {
+			taskRepository.update(pendingWrite.taskExecution);
+		}
+	}
+
+	private static TaskExecution copy(TaskExecution taskExecution) {
+		return new TaskExecution(taskExecution.getExecutionId(),
+				taskExecution.getExitCode(), taskExecution.getTaskName(),
+				taskExecution.getStartTime(), taskExecution.getEndTime(),
+				taskExecution.getExitMessage(), (taskExecution.getParameters() == null)
+						? null : new ArrayList<>(taskExecution.getParameters()));
+	}
+
+	private static class PendingWrite {
+
+		private TaskExecution taskExecution;
+
+		private boolean create;
+
+		PendingWrite(TaskExecution taskExecution, boolean create) {
+			this.taskExecution = taskExecution;
+			this.create = create;
+		}
+	}
+
+	private class Writer implements Runnable {
+
+		@Override
+		public void run() {
+			while (true) {
+				PendingWrite pendingWrite;
+				synchronized (monitor) {
+					while (pendingWrites.isEmpty() && !closed) {
+						try {
+							monitor.wait();
+						}
+						catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return;
+						}
+					}
+					if (pendingWrites.isEmpty()) {
+						return;
+					}
+					Iterator<PendingWrite> iterator = pendingWrites.values().iterator();
+					pendingWrite = iterator.next();
+					iterator.remove();
+					writesInProgress++;
+					monitor.notifyAll();
+				}
+				try {
+					write(pendingWrite);
+				}
+				catch (RuntimeException e) {
+					logger.error("Unable to record task execution "
+							+ pendingWrite.taskExecution.getExecutionId(), e);
+				}
+				finally {
+					synchronized (monitor) {
+						writesInProgress--;
+						monitor.notifyAll();
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link DataFieldMaxValueIncrementer} that hands out ids from blocks so that the
+ * underlying sequence is only read once per block.
+ *
+ * How a value retrieved from the sequence is turned into a block depends on the
+ * sequence's increment:
+ * <ul>
+ *     <li>If the sequence is incremented by 1 (the default for the task schema), a
+ *     sequence value {@code v} reserves the ids {@code v * blockSize} through
+ *     {@code (v + 1) * blockSize - 1} (hi/lo allocation).</li>
+ *     <li>If the sequence was created with an {@code INCREMENT BY} greater than 1, a
+ *     sequence value {@code v} reserves the ids {@code v} through
+ *     {@code v + sequenceIncrement - 1} (pooled allocation) and the block size is the
+ *     sequence increment.  The first time a block is allocated the sequence is read
+ *     twice, and the allocation fails unless the two values differ by a multiple of
+ *     the increment, so that a sequence that was never altered to match is detected
+ *     before overlapping blocks are handed out.</li>
+ * </ul>
+ *
+ * Every process recording executions in the same repository must use the same
+ * allocation settings, otherwise the ids they generate may collide.  In particular a
+ * hi/lo block size must never be lowered, and processes with different block sizes,
+ * including processes that do not allocate blocks, must not share a sequence.  Ids that
+ * were reserved but not used when the process ends are skipped.
+ */
+public class BlockAllocatingIncrementer implements DataFieldMaxValueIncrementer {
+
+	private final DataFieldMaxValueIncrementer incrementer;
+
+	private final int blockSize;
+
+	private final boolean pooled;
+
+	private long nextValue;
+
+	private long blockEnd;
+
+	private boolean incrementVerified;
+
+	private long reservedBlock = -1;
+
+	/**
+	 * @param incrementer the incrementer for the sequence the blocks are allocated from.
+	 * @param blockSize the number of ids reserved each time the sequence is read.
+	 * @param sequenceIncrement the {@code INCREMENT BY} of the sequence.
+	 */
+	public BlockAllocatingIncrementer(DataFieldMaxValueIncrementer incrementer,
+			int blockSize, int sequenceIncrement) {
+		Assert.notNull(incrementer, "An incrementer is required");
+		Assert.isTrue(blockSize > 0, "blockSize must be greater than zero");
+		Assert.isTrue(sequenceIncrement > 0, "sequenceIncrement must be greater than zero");
+		Assert.isTrue(sequenceIncrement == 1 || sequenceIncrement == blockSize,
+				"blockSize must equal the sequenceIncrement when the sequence is incremented by more than 1");
+		this.incrementer = incrementer;
+		this.blockSize = blockSize;
+		this.pooled = sequenceIncrement > 1;
+	}
+
+	@Override
+	public int nextIntValue() throws DataAccessException {
+		return (int) nextLongValue();
+	}
+
+	@Override
+	public synchronized long nextLongValue() throws DataAccessException {
+		if (nextValue >= blockEnd) {
+			nextValue = pooled ? nextPooledBlock() : incrementer.nextLongValue() * blockSize;
+			blockEnd = nextValue + blockSize;
+		}
+		return nextValue++;
+	}
+
+	private long nextPooledBlock() {
+		if (reservedBlock >= 0) {
+			long block = reservedBlock;
+			reservedBlock = -1;
+			return block;
+		}
+		long block = incrementer.nextLongValue();
+		if (!incrementVerified) {
+			// Other processes may read the sequence in between, so the second value is
+			// only required to be a whole number of increments further.
+			long next = incrementer.nextLongValue();
+			long difference = next - block;
+			if (difference <= 0 || difference % blockSize != 0) {
+				throw new IllegalStateException(String.format(
+						"The sequence advanced by %d between two reads, which is not a multiple of "
+								+ "the sequenceIncrement of %d.  Alter the sequence to increment by %d.",
+						difference, blockSize, blockSize));
+			}
+			incrementVerified = true;
+			reservedBlock = next;
+		}
+		return block;
+	}
+
+	@Override
+	public String nextStringValue() throws DataAccessException {
+		return String.valueOf(nextLongValue());
+	}
+
+}
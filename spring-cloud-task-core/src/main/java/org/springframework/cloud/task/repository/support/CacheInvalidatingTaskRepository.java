@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link TaskRepository} that evicts the cached results of a
+ * {@link CachingTaskExplorer} affected by every task execution written to the
+ * repository it decorates.  The results are evicted after the write so that they are
+ * not repopulated with the state that preceded it.
+ */
+public class CacheInvalidatingTaskRepository implements TaskRepository {
+
+	private final TaskRepository taskRepository;
+
+	private final CachingTaskExplorer taskExplorer;
+
+	/**
+	 * @param taskRepository the repository the task executions are written to.
+	 * @param taskExplorer the explorer whose cached results are evicted.
+	 */
+	public CacheInvalidatingTaskRepository(TaskRepository taskRepository,
+			CachingTaskExplorer taskExplorer) {
+		Assert.notNull(taskRepository, "A taskRepository is required");
+		Assert.notNull(taskExplorer, "A taskExplorer is required");
+		this.taskRepository = taskRepository;
+		this.taskExplorer = taskExplorer;
+	}
+
+	@Override
+	public void update(TaskExecution taskExecution) {
+		try {
+			taskRepository.update(taskExecution);
+		}
+		finally {
+			evict(taskExecution);
+		}
+	}
+
+	@Override
+	public void createTaskExecution(TaskExecution taskExecution) {
+		try {
+			taskRepository.createTaskExecution(taskExecution);
+		}
+		finally {
+			evict(taskExecution);
+		}
+	}
+
+	@Override
+	public long getNextExecutionId() {
+		return taskRepository.getNextExecutionId();
+	}
+
+	private void evict(TaskExecution taskExecution) {
+		if (taskExecution != null) {
+			taskExplorer.evict(taskExecution.getExecutionId());
+		}
+	}
+}
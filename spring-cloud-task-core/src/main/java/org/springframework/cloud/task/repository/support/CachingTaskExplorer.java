@@ -0,0 +1,385 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExecutionCallback;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link TaskExplorer} that caches the results of the explorer it decorates.
+ *
+ * <ul>
+ *     <li>Task executions retrieved by id are cached once they have completed, since
+ *     they no longer change.  The least recently used are evicted once more than
+ *     {@link #setMaxCompletedExecutions(int) maxCompletedExecutions} are cached.</li>
+ *     <li>Execution counts, the running executions of a task and the task names are
+ *     cached for their time to live, a time to live of 0 disables caching of the
+ *     result.</li>
+ *     <li>Other queries are passed to the decorated explorer.</li>
+ * </ul>
+ *
+ * Writes made through a {@link CacheInvalidatingTaskRepository} evict the task
+ * execution written and every result with a time to live, and results whose retrieval
+ * started before an eviction are not cached.  Writes made by other processes are only
+ * seen once the cached results expire, and task executions removed from the repository
+ * remain cached until they are evicted or the cache is cleared.
+ *
+ * Every caller receives its own copy of a cached result, lists of task names are
+ * unmodifiable.
+ */
+public class CachingTaskExplorer implements TaskExplorer {
+
+	public static final int DEFAULT_MAX_COMPLETED_EXECUTIONS = 1000;
+
+	public static final long DEFAULT_COUNT_TIME_TO_LIVE = 1000;
+
+	public static final long DEFAULT_RUNNING_EXECUTIONS_TIME_TO_LIVE = 1000;
+
+	public static final long DEFAULT_TASK_NAMES_TIME_TO_LIVE = 5000;
+
+	/**
+	 * Maximum number of results with a time to live that are cached.
+	 */
+	private static final int MAX_EXPIRING_RESULTS = 1000;
+
+	private final TaskExplorer taskExplorer;
+
+	private final Object monitor = new Object();
+
+	private final Map<Long, TaskExecution> completedExecutions =
+			new LinkedHashMap<Long, TaskExecution>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, TaskExecution> eldest) {
+					return size() > maxCompletedExecutions;
+				}
+			};
+
+	private final Map<List<Object>, ExpiringResult> expiringResults =
+			new LinkedHashMap<List<Object>, ExpiringResult>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<List<Object>, ExpiringResult> eldest) {
+					return size() > MAX_EXPIRING_RESULTS;
+				}
+			};
+
+	private int maxCompletedExecutions = DEFAULT_MAX_COMPLETED_EXECUTIONS;
+
+	private long countTimeToLive = DEFAULT_COUNT_TIME_TO_LIVE;
+
+	private long runningExecutionsTimeToLive = DEFAULT_RUNNING_EXECUTIONS_TIME_TO_LIVE;
+
+	private long taskNamesTimeToLive = DEFAULT_TASK_NAMES_TIME_TO_LIVE;
+
+	/**
+	 * Incremented on every eviction, so that results retrieved before it are not cached.
+	 */
+	private long generation;
+
+	/**
+	 * @param taskExplorer the explorer whose results are cached.
+	 */
+	public CachingTaskExplorer(TaskExplorer taskExplorer) {
+		Assert.notNull(taskExplorer, "A taskExplorer is required");
+		this.taskExplorer = taskExplorer;
+	}
+
+	/**
+	 * Sets the maximum number of completed task executions cached.  Defaults to
+	 * {@link #DEFAULT_MAX_COMPLETED_EXECUTIONS}.
+	 *
+	 * @param maxCompletedExecutions the maximum number of cached task executions
+	 */
+	public void setMaxCompletedExecutions(int maxCompletedExecutions) {
+		Assert.isTrue(maxCompletedExecutions >= 0, "maxCompletedExecutions must not be negative");
+		this.maxCompletedExecutions = maxCompletedExecutions;
+	}
+
+	/**
+	 * Sets the time in milliseconds execution counts are cached.  Defaults to
+	 * {@link #DEFAULT_COUNT_TIME_TO_LIVE}.
+	 *
+	 * @param countTimeToLive the time to live in milliseconds
+	 */
+	public void setCountTimeToLive(long countTimeToLive) {
+		this.countTimeToLive = countTimeToLive;
+	}
+
+	/**
+	 * Sets the time in milliseconds the pages of running task executions are cached.
+	 * Defaults to {@link #DEFAULT_RUNNING_EXECUTIONS_TIME_TO_LIVE}.
+	 *
+	 * @param runningExecutionsTimeToLive the time to live in milliseconds
+	 */
+	public void setRunningExecutionsTimeToLive(long runningExecutionsTimeToLive) {
+		this.runningExecutionsTimeToLive = runningExecutionsTimeToLive;
+	}
+
+	/**
+	 * Sets the time in milliseconds the task names are cached.  Defaults to
+	 * {@link #DEFAULT_TASK_NAMES_TIME_TO_LIVE}.
+	 *
+	 * @param taskNamesTimeToLive the time to live in milliseconds
+	 */
+	public void setTaskNamesTimeToLive(long taskNamesTimeToLive) {
+		this.taskNamesTimeToLive = taskNamesTimeToLive;
+	}
+
+	@Override
+	public TaskExecution getTaskExecution(long executionId) {
+		TaskExecution taskExecution;
+		synchronized (monitor) {
+			taskExecution = completedExecutions.get(executionId);
+		}
+		if (taskExecution == null) {
+			long generation = getGeneration();
+			taskExecution = taskExplorer.getTaskExecution(executionId);
+			if (taskExecution == null || taskExecution.getEndTime() == null) {
+				return taskExecution;
+			}
+			synchronized (monitor) {
+				if (maxCompletedExecutions > 0 && generation == this.generation) {
+					completedExecutions.put(executionId, copy(taskExecution));
+				}
+			}
+		}
+		else {
+			taskExecution = copy(taskExecution);
+		}
+		return taskExecution;
+	}
+
+	@Override
+	public List<TaskExecution> getTaskExecutions(Collection<Long> executionIds) {
+		Assert.notNull(executionIds, "executionIds must not be null");
+		Map<Long, TaskExecution> found = new HashMap<>();
+		List<Long> missingIds = new ArrayList<>();
+		synchronized (monitor) {
+			for (Long executionId : executionIds) {
+				TaskExecution taskExecution = completedExecutions.get(executionId);
+				if (taskExecution != null) {
+					found.put(executionId, copy(taskExecution));
+				}
+				else {
+					missingIds.add(executionId);
+				}
+			}
+		}
+		if (!missingIds.isEmpty()) {
+			long generation = getGeneration();
+			List<TaskExecution> taskExecutions = taskExplorer.getTaskExecutions(missingIds);
+			synchronized (monitor) {
+				for (TaskExecution taskExecution : taskExecutions) {
+					found.put(taskExecution.getExecutionId(), taskExecution);
+					if (taskExecution.getEndTime() != null && maxCompletedExecutions > 0
+							&& generation == this.generation) {
+						completedExecutions.put(taskExecution.getExecutionId(), copy(taskExecution));
+					}
+				}
+			}
+		}
+		List<TaskExecution> result = new ArrayList<>(found.size());
+		for (Long executionId : new LinkedHashSet<>(executionIds)) {
+			TaskExecution taskExecution = found.get(executionId);
+			if (taskExecution != null) {
+				result.add(taskExecution);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Page<TaskExecution> findRunningTaskExecutions(String taskName, Pageable pageable) {
+		List<Object> key = Arrays.<Object>asList("findRunningTaskExecutions", taskName, pageable);
+		Page<TaskExecution> result = (Page<TaskExecution>) getExpiringResult(key);
+		if (result == null) {
+			long generation = getGeneration();
+			result = copy(taskExplorer.findRunningTaskExecutions(taskName, pageable), pageable);
+			putExpiringResult(key, result, runningExecutionsTimeToLive, generation);
+		}
+		return copy(result, pageable);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<String> getTaskNames() {
+		List<Object> key = Arrays.<Object>asList("getTaskNames");
+		List<String> result = (List<String>) getExpiringResult(key);
+		if (result == null) {
+			long generation = getGeneration();
+			result = Collections.unmodifiableList(new ArrayList<>(taskExplorer.getTaskNames()));
+			putExpiringResult(key, result, taskNamesTimeToLive, generation);
+		}
+		return result;
+	}
+
+	@Override
+	public long getTaskExecutionCountByTaskName(String taskName) {
+		List<Object> key = Arrays.<Object>asList("getTaskExecutionCountByTaskName", taskName);
+		Long result = (Long) getExpiringResult(key);
+		if (result == null) {
+			long generation = getGeneration();
+			result = taskExplorer.getTaskExecutionCountByTaskName(taskName);
+			putExpiringResult(key, result, countTimeToLive, generation);
+		}
+		return result;
+	}
+
+	@Override
+	public long getTaskExecutionCount() {
+		List<Object> key = Arrays.<Object>asList("getTaskExecutionCount");
+		Long result = (Long) getExpiringResult(key);
+		if (result == null) {
+			long generation = getGeneration();
+			result = taskExplorer.getTaskExecutionCount();
+			putExpiringResult(key, result, countTimeToLive, generation);
+		}
+		return result;
+	}
+
+	@Override
+	public Page<TaskExecution> findTaskExecutionsByName(String taskName, Pageable pageable) {
+		return taskExplorer.findTaskExecutionsByName(taskName, pageable);
+	}
+
+	@Override
+	public Page<TaskExecution> findAll(Pageable pageable) {
+		return taskExplorer.findAll(pageable);
+	}
+
+	@Override
+	public List<TaskExecution> findAllAfter(Date lastStartTime, long lastExecutionId, int pageSize) {
+		return taskExplorer.findAllAfter(lastStartTime, lastExecutionId, pageSize);
+	}
+
+	@Override
+	public List<TaskExecution> findTaskExecutionsByNameAfter(String taskName,
+			Date lastStartTime, long lastExecutionId, int pageSize) {
+		return taskExplorer.findTaskExecutionsByNameAfter(taskName, lastStartTime,
+				lastExecutionId, pageSize);
+	}
+
+	@Override
+	public void forEachTaskExecution(TaskExecutionCallback callback) {
+		taskExplorer.forEachTaskExecution(callback);
+	}
+
+	/**
+	 * Evicts the task execution and every result with a time to live, since the counts,
+	 * running executions and task names may all reflect the task execution.
+	 *
+	 * @param executionId the id of the task execution that was written
+	 */
+	public void evict(long executionId) {
+		synchronized (monitor) {
+			generation++;
+			completedExecutions.remove(executionId);
+			expiringResults.clear();
+		}
+	}
+
+	/**
+	 * Evicts every cached result.
+	 */
+	public void clear() {
+		synchronized (monitor) {
+			generation++;
+			completedExecutions.clear();
+			expiringResults.clear();
+		}
+	}
+
+	private Object getExpiringResult(List<Object> key) {
+		synchronized (monitor) {
+			ExpiringResult expiringResult = expiringResults.get(key);
+			if (expiringResult == null) {
+				return null;
+			}
+			if (expiringResult.expiry <= System.currentTimeMillis()) {
+				expiringResults.remove(key);
+				return null;
+			}
+			return expiringResult.value;
+		}
+	}
+
+	private long getGeneration() {
+		synchronized (monitor) {
+			return generation;
+		}
+	}
+
+	/**
+	 * Caches the result unless the cache was evicted since its retrieval started.
+	 */
+	private void putExpiringResult(List<Object> key, Object value, long timeToLive,
+			long generation) {
+		if (timeToLive <= 0) {
+			return;
+		}
+		synchronized (monitor) {
+			if (generation == this.generation) {
+				expiringResults.put(key, new ExpiringResult(value,
+						System.currentTimeMillis() + timeToLive));
+			}
+		}
+	}
+
+	private static Page<TaskExecution> copy(Page<TaskExecution> page, Pageable pageable) {
+		List<TaskExecution> content = new ArrayList<>(page.getNumberOfElements());
+		for (TaskExecution taskExecution : page.getContent()) {
+			content.add(copy(taskExecution));
+		}
+		return new PageImpl<>(content, pageable, page.getTotalElements());
+	}
+
+	private static TaskExecution copy(TaskExecution taskExecution) {
+		return new TaskExecution(taskExecution.getExecutionId(),
+				taskExecution.getExitCode(), taskExecution.getTaskName(),
+				taskExecution.getStartTime(), taskExecution.getEndTime(),
+				taskExecution.getExitMessage(), (taskExecution.getParameters() == null)
+						? null : new ArrayList<>(taskExecution.getParameters()));
+	}
+
+	private static class ExpiringResult {
+
+		private final Object value;
+
+		private final long expiry;
+
+		ExpiringResult(Object value, long expiry) {
+			this.value = value;
+			this.expiry = expiry;
+		}
+	}
+}
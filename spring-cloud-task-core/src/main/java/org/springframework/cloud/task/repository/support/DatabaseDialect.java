@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.support.DatabaseMetaDataCallback;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.util.Assert;
+
+/**
+ * The type, version and capabilities of the database behind a {@link DataSource}, read
+ * from its metadata with a single connection.  A dialect is resolved once per
+ * DataSource and shared by the components that need to know what they are talking to
+ * (the schema initializer, the id incrementer, the task execution dao and its paging
+ * query providers), so none of them has to check out a connection to find out.
+ */
+public final class DatabaseDialect {
+
+	private final DatabaseType databaseType;
+
+	private final String productVersion;
+
+	private final int majorVersion;
+
+	/**
+	 * @param databaseType the type of the database.
+	 * @param productVersion the product version reported by the database, may be null.
+	 * @param majorVersion the major version reported by the database.
+	 */
+	public DatabaseDialect(DatabaseType databaseType, String productVersion, int majorVersion) {
+		Assert.notNull(databaseType, "A databaseType is required");
+		this.databaseType = databaseType;
+		this.productVersion = productVersion;
+		this.majorVersion = majorVersion;
+	}
+
+	/**
+	 * Resolves the dialect of the database behind the DataSource provided.
+	 *
+	 * @param dataSource the datasource used to extract metadata.
+	 * @return the dialect of the database.
+	 * @throws MetaDataAccessException thrown if failure occurs on metadata lookup.
+	 */
+	public static DatabaseDialect fromMetaData(DataSource dataSource) throws MetaDataAccessException {
+		return (DatabaseDialect) JdbcUtils.extractDatabaseMetaData(dataSource,
+				new DatabaseMetaDataCallback() {
+					@Override
+					public Object processMetaData(DatabaseMetaData metaData) throws SQLException {
+						DatabaseType type = DatabaseType.fromProductName(
+								JdbcUtils.commonDatabaseName(metaData.getDatabaseProductName()));
+						return new DatabaseDialect(type, metaData.getDatabaseProductVersion(),
+								metaData.getDatabaseMajorVersion());
+					}
+				});
+	}
+
+	/**
+	 * Resolves the dialect of the database behind the DataSource provided, for callers
+	 * that cannot proceed without it.
+	 *
+	 * @param dataSource the datasource used to extract metadata.
+	 * @return the dialect of the database.
+	 * @throws IllegalStateException thrown if failure occurs on metadata lookup.
+	 */
+	public static DatabaseDialect resolve(DataSource dataSource) {
+		try {
+			return fromMetaData(dataSource);
+		}
+		catch (MetaDataAccessException e) {
+			throw new IllegalStateException("Unable to detect the database type", e);
+		}
+	}
+
+	public DatabaseType getDatabaseType() {
+		return databaseType;
+	}
+
+	public String getProductVersion() {
+		return productVersion;
+	}
+
+	public int getMajorVersion() {
+		return majorVersion;
+	}
+
+	/**
+	 * @return the platform name used by the schema and migration scripts, e.g.
+	 * {@code schema-<platform>.sql}.
+	 */
+	public String getPlatform() {
+		switch (databaseType) {
+			case HSQL:
+				return "hsqldb";
+			case POSTGRES:
+				return "postgresql";
+			case ORACLE:
+				return "oracle10g";
+			default:
+				return databaseType.toString().toLowerCase();
+		}
+	}
+
+	/**
+	 * Indicates whether the database supports the {@code COUNT(*) OVER ()} window
+	 * function (PostgreSQL, Oracle, MySQL 8 and H2 1.4.198 or later).
+	 *
+	 * @return true if the window function is supported
+	 */
+	public boolean isTotalCountSupported() {
+		switch (databaseType) {
+			case POSTGRES:
+			case ORACLE:
+				return true;
+			case MYSQL:
+				return majorVersion >= 8;
+			case H2:
+				return isH2WithWindowFunctions(productVersion);
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Indicates whether the database supports the
+	 * {@code OFFSET ... ROWS FETCH NEXT ... ROWS ONLY} row limiting clause of Oracle 12c
+	 * and later.
+	 *
+	 * @return true if the row limiting clause is supported
+	 */
+	public boolean isOffsetFetchSupported() {
+		return databaseType == DatabaseType.ORACLE && majorVersion >= 12;
+	}
+
+	/**
+	 * H2 supports window functions as of version 1.4.198.
+	 */
+	private static boolean isH2WithWindowFunctions(String productVersion) {
+		if (productVersion == null) {
+			return false;
+		}
+		String[] version = productVersion.split("[ .]");
+		try {
+			int major = Integer.parseInt(version[0]);
+			int minor = Integer.parseInt(version[1]);
+			int build = Integer.parseInt(version[2]);
+			return major > 1 || (major == 1 && (minor > 4 || (minor == 4 && build >= 198)));
+		}
+		catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return databaseType + " " + productVersion;
+	}
+
+}
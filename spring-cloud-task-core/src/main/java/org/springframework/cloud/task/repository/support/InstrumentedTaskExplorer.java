@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExecutionCallback;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.cloud.task.repository.TaskMetricsRecorder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link TaskExplorer} that records the latency and outcome of every query made to
+ * the explorer it decorates with a {@link TaskMetricsRecorder}.
+ */
+public class InstrumentedTaskExplorer implements TaskExplorer {
+
+	private final TaskExplorer taskExplorer;
+
+	private final TaskMetricsRecorder metricsRecorder;
+
+	private final String daoType;
+
+	/**
+	 * @param taskExplorer the explorer to be instrumented.
+	 * @param metricsRecorder the recorder the measurements are sent to.
+	 */
+	public InstrumentedTaskExplorer(TaskExplorer taskExplorer,
+			TaskMetricsRecorder metricsRecorder) {
+		Assert.notNull(taskExplorer, "A taskExplorer is required");
+		Assert.notNull(metricsRecorder, "A metricsRecorder is required");
+		this.taskExplorer = taskExplorer;
+		this.metricsRecorder = metricsRecorder;
+		this.daoType = (taskExplorer instanceof SimpleTaskExplorer)
+				? ((SimpleTaskExplorer) taskExplorer).getTaskExecutionDao().getClass().getSimpleName()
+				: taskExplorer.getClass().getSimpleName();
+	}
+
+	@Override
+	public TaskExecution getTaskExecution(long executionId) {
+		long start = System.nanoTime();
+		TaskExecution taskExecution = null;
+		boolean success = false;
+		try {
+			taskExecution = taskExplorer.getTaskExecution(executionId);
+			success = true;
+			return taskExecution;
+		}
+		finally {
+			record("getTaskExecution",
+					(taskExecution == null) ? null : taskExecution.getTaskName(), start, success);
+		}
+	}
+
+	@Override
+	public List<TaskExecution> getTaskExecutions(Collection<Long> executionIds) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			List<TaskExecution> result = taskExplorer.getTaskExecutions(executionIds);
+			success = true;
+			return result;
+		}
+		finally {
+			record("getTaskExecutions", null, start, success);
+		}
+	}
+
+	@Override
+	public Page<TaskExecution> findRunningTaskExecutions(String taskName, Pageable pageable) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			Page<TaskExecution> result = taskExplorer.findRunningTaskExecutions(taskName, pageable);
+			success = true;
+			return result;
+		}
+		finally {
+			record("findRunningTaskExecutions", taskName, start, success);
+		}
+	}
+
+	@Override
+	public List<String> getTaskNames() {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			List<String> result = taskExplorer.getTaskNames();
+			success = true;
+			return result;
+		}
+		finally {
+			record("getTaskNames", null, start, success);
+		}
+	}
+
+	@Override
+	public long getTaskExecutionCountByTaskName(String taskName) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			long result = taskExplorer.getTaskExecutionCountByTaskName(taskName);
+			success = true;
+			return result;
+		}
+		finally {
+			record("getTaskExecutionCountByTaskName", taskName, start, success);
+		}
+	}
+
+	@Override
+	public long getTaskExecutionCount() {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			long result = taskExplorer.getTaskExecutionCount();
+			success = true;
+			return result;
+		}
+		finally {
+			record("getTaskExecutionCount", null, start, success);
+		}
+	}
+
+	@Override
+	public Page<TaskExecution> findTaskExecutionsByName(String taskName, Pageable pageable) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			Page<TaskExecution> result = taskExplorer.findTaskExecutionsByName(taskName, pageable);
+			success = true;
+			return result;
+		}
+		finally {
+			record("findTaskExecutionsByName", taskName, start, success);
+		}
+	}
+
+	@Override
+	public Page<TaskExecution> findAll(Pageable pageable) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			Page<TaskExecution> result = taskExplorer.findAll(pageable);
+			success = true;
+			return result;
+		}
+		finally {
+			record("findAll", null, start, success);
+		}
+	}
+
+	@Override
+	public List<TaskExecution> findAllAfter(Date lastStartTime, long lastExecutionId, int pageSize) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			List<TaskExecution> result = taskExplorer.findAllAfter(lastStartTime,
+					lastExecutionId, pageSize);
+			success = true;
+			return result;
+		}
+		finally {
+			record("findAllAfter", null, start, success);
+		}
+	}
+
+	@Override
+	public List<TaskExecution> findTaskExecutionsByNameAfter(String taskName,
+			Date lastStartTime, long lastExecutionId, int pageSize) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			List<TaskExecution> result = taskExplorer.findTaskExecutionsByNameAfter(taskName,
+					lastStartTime, lastExecutionId, pageSize);
+			success = true;
+			return result;
+		}
+		finally {
+			record("findTaskExecutionsByNameAfter", taskName, start, success);
+		}
+	}
+
+	@Override
+	public void forEachTaskExecution(TaskExecutionCallback callback) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			taskExplorer.forEachTaskExecution(callback);
+			success = true;
+		}
+		finally {
+			record("forEachTaskExecution", null, start, success);
+		}
+	}
+
+	private void record(String operation, String taskName, long start, boolean success) {
+		metricsRecorder.record(operation, taskName, daoType, System.nanoTime() - start,
+				success);
+	}
+}
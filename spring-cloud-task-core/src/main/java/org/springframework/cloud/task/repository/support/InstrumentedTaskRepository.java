@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskMetricsRecorder;
+import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link TaskRepository} that records the latency and outcome of every call made to
+ * the repository it decorates with a {@link TaskMetricsRecorder}.
+ */
+public class InstrumentedTaskRepository implements TaskRepository {
+
+	private final TaskRepository taskRepository;
+
+	private final TaskMetricsRecorder metricsRecorder;
+
+	private final String daoType;
+
+	/**
+	 * @param taskRepository the repository to be instrumented.
+	 * @param metricsRecorder the recorder the measurements are sent to.
+	 */
+	public InstrumentedTaskRepository(TaskRepository taskRepository,
+			TaskMetricsRecorder metricsRecorder) {
+		Assert.notNull(taskRepository, "A taskRepository is required");
+		Assert.notNull(metricsRecorder, "A metricsRecorder is required");
+		this.taskRepository = taskRepository;
+		this.metricsRecorder = metricsRecorder;
+		this.daoType = (taskRepository instanceof SimpleTaskRepository)
+				? ((SimpleTaskRepository) taskRepository).getTaskExecutionDao().getClass().getSimpleName()
+				: taskRepository.getClass().getSimpleName();
+	}
+
+	@Override
+	public void update(TaskExecution taskExecution) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			taskRepository.update(taskExecution);
+			success = true;
+		}
+		finally {
+			record("update", taskExecution, start, success);
+		}
+	}
+
+	@Override
+	public void createTaskExecution(TaskExecution taskExecution) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			taskRepository.createTaskExecution(taskExecution);
+			success = true;
+		}
+		finally {
+			record("createTaskExecution", taskExecution, start, success);
+		}
+	}
+
+	@Override
+	public long getNextExecutionId() {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			long executionId = taskRepository.getNextExecutionId();
+			success = true;
+			return executionId;
+		}
+		finally {
+			metricsRecorder.record("getNextExecutionId", null, daoType,
+					System.nanoTime() - start, success);
+		}
+	}
+
+	private void record(String operation, TaskExecution taskExecution, long start,
+			boolean success) {
+		metricsRecorder.record(operation,
+				(taskExecution == null) ? null : taskExecution.getTaskName(), daoType,
+				System.nanoTime() - start, success);
+	}
+}
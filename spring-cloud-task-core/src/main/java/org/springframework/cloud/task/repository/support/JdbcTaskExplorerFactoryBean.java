@@ -41,6 +41,16 @@ public class JdbcTaskExplorerFactoryBean implements FactoryBean<TaskExplorer>{
 
 	private String tablePrefix = DEFAULT_TABLE_PREFIX;
 
+	private boolean useSummaryTable;
+
+	private boolean deferredJoinPaging;
+
+	private boolean countWithPageQuery;
+
+	private int fetchSize = JdbcTaskExecutionDao.DEFAULT_FETCH_SIZE;
+
+	private DatabaseDialect databaseDialect;
+
 	public JdbcTaskExplorerFactoryBean(){
 
 	}
@@ -59,6 +69,56 @@ public class JdbcTaskExplorerFactoryBean implements FactoryBean<TaskExplorer>{
 		this.tablePrefix = tablePrefix;
 	}
 
+	/**
+	 * Sets the dialect of the database behind the data source, so that it is not read
+	 * from the data source's metadata.
+	 * @param databaseDialect the dialect of the database
+	 */
+	public void setDatabaseDialect(DatabaseDialect databaseDialect) {
+		this.databaseDialect = databaseDialect;
+	}
+
+	/**
+	 * Sets whether task execution counts and task names are maintained in and read
+	 * from the task summary table.  Defaults to false.
+	 * @param useSummaryTable true if the summary table should be used
+	 * @see JdbcTaskExecutionDao#setUseSummaryTable(boolean)
+	 */
+	public void setUseSummaryTable(boolean useSummaryTable) {
+		this.useSummaryTable = useSummaryTable;
+	}
+
+	/**
+	 * Sets whether page queries are generated as a deferred join on the databases that
+	 * support it.  Defaults to false.
+	 * @param deferredJoinPaging true if page queries should be generated as a deferred join
+	 * @see JdbcTaskExecutionDao#setDeferredJoinPaging(boolean)
+	 */
+	public void setDeferredJoinPaging(boolean deferredJoinPaging) {
+		this.deferredJoinPaging = deferredJoinPaging;
+	}
+
+	/**
+	 * Sets whether page queries retrieve the total number of matching task executions
+	 * in the same statement as the page on the databases that support it.  Defaults to
+	 * false.
+	 * @param countWithPageQuery true if the total count should be retrieved with the page
+	 * @see JdbcTaskExecutionDao#setCountWithPageQuery(boolean)
+	 */
+	public void setCountWithPageQuery(boolean countWithPageQuery) {
+		this.countWithPageQuery = countWithPageQuery;
+	}
+
+	/**
+	 * Sets the JDBC fetch size used when streaming task executions.  Defaults to
+	 * {@link JdbcTaskExecutionDao#DEFAULT_FETCH_SIZE}.
+	 * @param fetchSize the fetch size
+	 * @see JdbcTaskExecutionDao#setFetchSize(int)
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
 	/**
 	 * Returns the a simpleTaskExplorer that utilizes a JdbcTaskExecutionDao
 	 * @return instance of task repository.
@@ -84,6 +144,11 @@ public class JdbcTaskExplorerFactoryBean implements FactoryBean<TaskExplorer>{
 	private TaskExecutionDao createJdbcTaskExecutionDao()  {
 		JdbcTaskExecutionDao dao = new JdbcTaskExecutionDao(dataSource);
 		dao.setTablePrefix(tablePrefix);
+		dao.setUseSummaryTable(useSummaryTable);
+		dao.setDeferredJoinPaging(deferredJoinPaging);
+		dao.setCountWithPageQuery(countWithPageQuery);
+		dao.setFetchSize(fetchSize);
+		dao.setDatabaseDialect(databaseDialect);
 		return dao;
 	}
 
@@ -26,7 +26,8 @@ import org.springframework.beans.factory.FactoryBean;
 import org.springframework.cloud.task.repository.TaskRepository;
 import org.springframework.cloud.task.repository.dao.JdbcTaskExecutionDao;
 import org.springframework.cloud.task.repository.dao.TaskExecutionDao;
-import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.util.Assert;
 
 /**
  * Automates the creation of a {@link SimpleTaskRepository} which will persist task
@@ -45,8 +46,18 @@ public class JdbcTaskRepositoryFactoryBean implements FactoryBean<TaskRepository
 
 	private String tablePrefix = DEFAULT_TABLE_PREFIX;
 
+	private boolean useSummaryTable;
+
+	private DatabaseDialect databaseDialect;
+
 	private DataFieldMaxValueIncrementerFactory incrementerFactory;
 
+	private int idBlockSize = 1;
+
+	private int sequenceIncrement = 1;
+
+	private int parameterBatchSize = JdbcTaskExecutionDao.DEFAULT_PARAMETER_BATCH_SIZE;
+
 	public JdbcTaskRepositoryFactoryBean(){
 
 	}
@@ -66,6 +77,68 @@ public class JdbcTaskRepositoryFactoryBean implements FactoryBean<TaskRepository
 		this.tablePrefix = tablePrefix;
 	}
 
+	/**
+	 * Sets the number of execution ids reserved each time the task sequence is read.
+	 * Defaults to 1, which reads the sequence for every execution.  If the
+	 * {@link #setSequenceIncrement(int) sequence increment} is greater than 1 the block
+	 * size is the sequence increment, and setting a different block size fails.
+	 * <p>
+	 * Otherwise the block is derived from the sequence value multiplied by the block
+	 * size, so every application writing to the same task repository must use the same
+	 * block size, and the block size must never be lowered.  Writers using different
+	 * block sizes at the same time, for example during a rolling deploy, generate ids
+	 * that collide.
+	 * @param idBlockSize the number of ids reserved per sequence read
+	 * @see BlockAllocatingIncrementer
+	 */
+	public void setIdBlockSize(int idBlockSize) {
+		this.idBlockSize = idBlockSize;
+	}
+
+	/**
+	 * Sets the {@code INCREMENT BY} the task sequence was created with.  Defaults to 1.
+	 * When greater than 1, ids are allocated in blocks of this size, and any
+	 * {@link #setIdBlockSize(int) id block size} set must be equal to it.  The increment
+	 * is checked against the sequence when the first block is allocated.  It is not
+	 * supported on MySQL and HSQL, where {@code TASK_SEQ} is a table that is always
+	 * incremented by 1.
+	 * @param sequenceIncrement the increment of the task sequence
+	 * @see BlockAllocatingIncrementer
+	 */
+	public void setSequenceIncrement(int sequenceIncrement) {
+		this.sequenceIncrement = sequenceIncrement;
+	}
+
+	/**
+	 * Sets the maximum number of task parameters sent to the database in a single JDBC
+	 * batch when a task execution is saved.  Defaults to
+	 * {@link JdbcTaskExecutionDao#DEFAULT_PARAMETER_BATCH_SIZE}.
+	 * @param parameterBatchSize the parameter batch size
+	 * @see JdbcTaskExecutionDao#setParameterBatchSize(int)
+	 */
+	public void setParameterBatchSize(int parameterBatchSize) {
+		this.parameterBatchSize = parameterBatchSize;
+	}
+
+	/**
+	 * Sets the dialect of the database behind the data source, so that it is not read
+	 * from the data source's metadata.
+	 * @param databaseDialect the dialect of the database
+	 */
+	public void setDatabaseDialect(DatabaseDialect databaseDialect) {
+		this.databaseDialect = databaseDialect;
+	}
+
+	/**
+	 * Sets whether task execution counts and task names are maintained in and read
+	 * from the task summary table.  Defaults to false.
+	 * @param useSummaryTable true if the summary table should be used
+	 * @see JdbcTaskExecutionDao#setUseSummaryTable(boolean)
+	 */
+	public void setUseSummaryTable(boolean useSummaryTable) {
+		this.useSummaryTable = useSummaryTable;
+	}
+
 	/**
 	 * Returns the a simpleTaskRepository that utilizes a JdbcTaskExecutionDao
 	 * @return instance of task repository.
@@ -90,15 +163,27 @@ public class JdbcTaskRepositoryFactoryBean implements FactoryBean<TaskRepository
 
 	private TaskExecutionDao createJdbcTaskExecutionDao() {
 		JdbcTaskExecutionDao dao = new JdbcTaskExecutionDao(dataSource);
-		String databaseType = null;
-		try {
-			databaseType = org.springframework.batch.support.DatabaseType.fromMetaData(dataSource).name();
+		DatabaseDialect dialect = databaseDialect != null
+				? databaseDialect : DatabaseDialect.resolve(dataSource);
+		DataFieldMaxValueIncrementer incrementer = incrementerFactory.getIncrementer(
+				dialect.getDatabaseType().name(), tablePrefix + "SEQ");
+		if (sequenceIncrement > 1) {
+			DatabaseType databaseType = dialect.getDatabaseType();
+			Assert.isTrue(databaseType != DatabaseType.MYSQL && databaseType != DatabaseType.HSQL,
+					"sequenceIncrement is not supported on " + databaseType
+							+ ", where the task sequence is a table incremented by 1");
+			Assert.isTrue(idBlockSize == 1 || idBlockSize == sequenceIncrement,
+					"idBlockSize must equal the sequenceIncrement when the sequence is incremented by more than 1");
+			incrementer = new BlockAllocatingIncrementer(incrementer, sequenceIncrement, sequenceIncrement);
 		}
-		catch (MetaDataAccessException e) {
-			throw new IllegalStateException(e);
+		else if (idBlockSize > 1) {
+			incrementer = new BlockAllocatingIncrementer(incrementer, idBlockSize, 1);
 		}
-		dao.setTaskIncrementer(incrementerFactory.getIncrementer(databaseType, tablePrefix + "SEQ"));
+		dao.setTaskIncrementer(incrementer);
 		dao.setTablePrefix(tablePrefix);
+		dao.setUseSummaryTable(useSummaryTable);
+		dao.setParameterBatchSize(parameterBatchSize);
+		dao.setDatabaseDialect(dialect);
 		return dao;
 	}
 
@@ -16,9 +16,12 @@
 
 package org.springframework.cloud.task.repository.support;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExecutionCallback;
 import org.springframework.cloud.task.repository.TaskExplorer;
 import org.springframework.cloud.task.repository.dao.TaskExecutionDao;
 import org.springframework.data.domain.Page;
@@ -44,6 +47,11 @@ public class SimpleTaskExplorer implements TaskExplorer{
 		return taskExecutionDao.getTaskExecution(executionId);
 	}
 
+	@Override
+	public List<TaskExecution> getTaskExecutions(Collection<Long> executionIds) {
+		return taskExecutionDao.getTaskExecutions(executionIds);
+	}
+
 	@Override
 	public Page<TaskExecution> findRunningTaskExecutions(String taskName, Pageable pageable) {
 		return taskExecutionDao.findRunningTaskExecutions(taskName, pageable);
@@ -74,4 +82,29 @@ public class SimpleTaskExplorer implements TaskExplorer{
 		return taskExecutionDao.findAll(pageable);
 	}
 
+	@Override
+	public List<TaskExecution> findAllAfter(Date lastStartTime, long lastExecutionId, int pageSize) {
+		return taskExecutionDao.findAllAfter(lastStartTime, lastExecutionId, pageSize);
+	}
+
+	@Override
+	public List<TaskExecution> findTaskExecutionsByNameAfter(String taskName,
+			Date lastStartTime, long lastExecutionId, int pageSize) {
+		return taskExecutionDao.findTaskExecutionsByNameAfter(taskName, lastStartTime,
+				lastExecutionId, pageSize);
+	}
+
+	@Override
+	public void forEachTaskExecution(TaskExecutionCallback callback) {
+		taskExecutionDao.forEachTaskExecution(callback);
+	}
+
+	/**
+	 * Retrieves the taskExecutionDao associated with this explorer.
+	 * @return the taskExecutionDao
+	 */
+	public TaskExecutionDao getTaskExecutionDao() {
+		return taskExecutionDao;
+	}
+
 }
@@ -16,26 +16,66 @@
 
 package org.springframework.cloud.task.repository.support;
 
+import java.util.Date;
+
 import javax.sql.DataSource;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
-import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.jdbc.datasource.init.ScriptException;
 
 /**
+ * Creates the task schema, or brings an existing task schema up to date, in a
+ * DataSource.
+ *
+ * The version of the task schema is recorded in the {@code TASK_SCHEMA_VERSION} table,
+ * so a schema that is current is detected with a single query and left untouched.  A
+ * database without task tables is initialized with the {@code schema-<platform>.sql}
+ * script.  A schema that is behind is upgraded by running the migration script of each
+ * missing version, in order, recording each version once its script has completed.  A
+ * task schema created before the version table existed is treated as the first version
+ * and all migrations are applied to it, ignoring the statements that fail because the
+ * objects they create already exist.
+ *
  * @author Glenn Renfro
  */
 
 public final class TaskDatabaseInitializer {
 
+	/**
+	 * The version of the task schema created by the {@code schema-<platform>.sql}
+	 * scripts.
+	 */
+	public static final int SCHEMA_VERSION = 4;
+
 	private static final Log logger = LogFactory.getLog(TaskDatabaseInitializer.class);
 
 	private static final String DEFAULT_SCHEMA_LOCATION = "classpath:org/springframework/"
 			+ "cloud/task/schema-@@platform@@.sql";
 
+	private static final String MIGRATION_LOCATION = "classpath:org/springframework/"
+			+ "cloud/task/migration/%s/migration-@@platform@@.sql";
+
+	/**
+	 * The migration applied to reach each version of the schema, the migration at index
+	 * {@code i} upgrades the schema to version {@code i + 2}.  Migrations only create
+	 * tables and indexes, the summary table is populated by the dao that maintains it.
+	 */
+	private static final String[] MIGRATIONS = { "indexes", "archive", "summary" };
+
+	private static final String GET_SCHEMA_VERSION = "SELECT MAX(VERSION) FROM TASK_SCHEMA_VERSION";
+
+	private static final String CHECK_TASK_EXECUTION_TABLE = "SELECT COUNT(*) FROM TASK_EXECUTION WHERE 1 = 0";
+
+	private static final String INSERT_SCHEMA_VERSION = "INSERT INTO TASK_SCHEMA_VERSION "
+			+ "(VERSION, DESCRIPTION, INSTALLED_ON) VALUES (?, ?, ?)";
+
 	/**
 	 * Path to the SQL file to use to initialize the database schema.
 	 */
@@ -46,38 +86,124 @@ public final class TaskDatabaseInitializer {
 	}
 
 	public static void initializeDatabase(DataSource dataSource, ResourceLoader resourceLoader) {
+		initializeDatabase(dataSource, resourceLoader, null);
+	}
+
+	/**
+	 * Initializes or migrates the task schema.
+	 *
+	 * @param dataSource the data source holding the task schema.
+	 * @param resourceLoader the resource loader the scripts are loaded with.
+	 * @param databaseDialect the dialect of the database, if null it is read from the
+	 * data source's metadata when a script has to be run.
+	 */
+	public static void initializeDatabase(DataSource dataSource, ResourceLoader resourceLoader,
+			DatabaseDialect databaseDialect) {
 		if (dataSource != null) {
-			String platform = getDatabaseType(dataSource);
-			if ("hsql".equals(platform)) {
-				platform = "hsqldb";
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+			Integer version = getSchemaVersion(jdbcTemplate);
+			if (version != null && version >= SCHEMA_VERSION) {
+				logger.debug(String.format("Task schema is at version %s", version));
+				return;
 			}
-			if ("postgres".equals(platform)) {
-				platform = "postgresql";
+			String platform = (databaseDialect != null) ? databaseDialect.getPlatform()
+					: DatabaseDialect.resolve(dataSource).getPlatform();
+			if (version == null) {
+				if (!hasTaskExecutionTable(jdbcTemplate)) {
+					logger.debug(String.format("Initializing task schema for %s database",
+							platform));
+					executeScript(dataSource, resourceLoader,
+							schema.replace("@@platform@@", platform), true);
+					return;
+				}
+				logger.info("Adding the schema version table to the task schema");
+				executeScript(dataSource, resourceLoader, getMigrationLocation("version", platform), true);
+				version = 0;
 			}
-			if ("oracle".equals(platform)) {
-				platform = "oracle10g";
+			if (version == 0) {
+				recordVersion(jdbcTemplate, 1, "Task schema");
+				version = 1;
 			}
-			if ("mysql".equals(platform)) {
-				platform = "mysql";
+			migrate(dataSource, resourceLoader, jdbcTemplate, platform, version);
+		}
+	}
+
+	/**
+	 * Applies the migrations following the version provided.  Migrations of a schema
+	 * that predates the version table may find some of their objects already present,
+	 * the statements creating those are ignored.
+	 */
+	private static void migrate(DataSource dataSource, ResourceLoader resourceLoader,
+			JdbcTemplate jdbcTemplate, String platform, int version) {
+		boolean continueOnError = (version == 1);
+		for (int target = version + 1; target <= SCHEMA_VERSION; target++) {
+			String migration = MIGRATIONS[target - 2];
+			logger.info(String.format("Migrating task schema to version %s (%s)", target,
+					migration));
+			try {
+				executeScript(dataSource, resourceLoader,
+						getMigrationLocation(migration, platform), continueOnError);
+			}
+			catch (ScriptException e) {
+				Integer current = getSchemaVersion(jdbcTemplate);
+				if (current == null || current < target) {
+					throw e;
+				}
+				// Another process applied the migration concurrently.
+				logger.debug(String.format("Task schema version %s was applied concurrently",
+						target));
+				continue;
 			}
-			ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
-			String schemaLocation = schema;
-			schemaLocation = schemaLocation.replace("@@platform@@", platform);
-			populator.addScript(resourceLoader.getResource(schemaLocation));
-			populator.setContinueOnError(true);
-			logger.debug(String.format("Initializing task schema for %s database",
-					platform));
-			DatabasePopulatorUtils.execute(populator, dataSource);
+			recordVersion(jdbcTemplate, target, migration);
 		}
 	}
 
-	private static String getDatabaseType(DataSource dataSource) {
+	private static void executeScript(DataSource dataSource, ResourceLoader resourceLoader,
+			String location, boolean continueOnError) {
+		ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+		populator.addScript(resourceLoader.getResource(location));
+		populator.setContinueOnError(continueOnError);
+		DatabasePopulatorUtils.execute(populator, dataSource);
+	}
+
+	private static void recordVersion(JdbcTemplate jdbcTemplate, int version, String description) {
 		try {
-			return DatabaseType.fromMetaData(dataSource).toString().toLowerCase();
+			jdbcTemplate.update(INSERT_SCHEMA_VERSION, version, description, new Date());
 		}
-		catch (MetaDataAccessException ex) {
-			throw new IllegalStateException("Unable to detect database type", ex);
+		catch (DuplicateKeyException e) {
+			logger.debug(String.format("Task schema version %s was recorded concurrently",
+					version));
 		}
 	}
 
+	/**
+	 * Retrieves the recorded version of the task schema.
+	 *
+	 * @return the version, 0 if no version has been recorded yet or null if the schema
+	 * version table does not exist
+	 */
+	private static Integer getSchemaVersion(JdbcTemplate jdbcTemplate) {
+		try {
+			Integer version = jdbcTemplate.queryForObject(GET_SCHEMA_VERSION, Integer.class);
+			return (version == null) ? 0 : version;
+		}
+		catch (DataAccessException e) {
+			return null;
+		}
+	}
+
+	private static boolean hasTaskExecutionTable(JdbcTemplate jdbcTemplate) {
+		try {
+			jdbcTemplate.queryForObject(CHECK_TASK_EXECUTION_TABLE, Long.class);
+			return true;
+		}
+		catch (DataAccessException e) {
+			return false;
+		}
+	}
+
+	private static String getMigrationLocation(String migration, String platform) {
+		return String.format(MIGRATION_LOCATION, migration).replace("@@platform@@", platform);
+	}
+
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cloud.task.repository.dao.TaskExecutionDao;
+import org.springframework.util.Assert;
+
+/**
+ * Removes completed task executions from the task repository according to an age
+ * policy, a count per task name policy or both, so that the task repository does not
+ * grow without bound.
+ *
+ * <ul>
+ *     <li>When a maximum age is set, completed task executions that started more than
+ *     the maximum age ago are removed.</li>
+ *     <li>When a maximum number of executions per task name is set, the oldest
+ *     completed task executions of each task name are removed until no more than the
+ *     maximum remain.</li>
+ * </ul>
+ *
+ * Task executions are removed in chunks of at most the chunk size, each in its own
+ * transaction, so that locks are held briefly and the work done by a single statement
+ * is bounded.  If archiving is enabled the task executions and their parameters are
+ * copied to the {@code TASK_EXECUTION_ARCHIVE} and
+ * {@code TASK_EXECUTION_PARAMS_ARCHIVE} tables before they are deleted.  Running task
+ * executions are never removed, so the service may run while tasks are recording their
+ * executions.  Only one instance should run against a task repository at a time.
+ */
+public class TaskExecutionRetentionService {
+
+	public static final int DEFAULT_CHUNK_SIZE = 500;
+
+	private final static Logger logger = LoggerFactory.getLogger(TaskExecutionRetentionService.class);
+
+	private final TaskExecutionDao taskExecutionDao;
+
+	private long maxAge = -1;
+
+	private int maxExecutionsPerTaskName = -1;
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	private boolean archive;
+
+	/**
+	 * @param taskExecutionDao the dao for the task repository to be purged.
+	 */
+	public TaskExecutionRetentionService(TaskExecutionDao taskExecutionDao) {
+		Assert.notNull(taskExecutionDao, "taskExecutionDao must not be null");
+		this.taskExecutionDao = taskExecutionDao;
+	}
+
+	/**
+	 * Sets the age in milliseconds after which completed task executions are removed,
+	 * measured from their start time.  A negative value, the default, disables the age
+	 * policy.
+	 *
+	 * @param maxAge the maximum age in milliseconds
+	 */
+	public void setMaxAge(long maxAge) {
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Sets the number of completed task executions retained for each task name.  A
+	 * negative value, the default, disables the count policy.
+	 *
+	 * @param maxExecutionsPerTaskName the number of completed executions to retain
+	 */
+	public void setMaxExecutionsPerTaskName(int maxExecutionsPerTaskName) {
+		this.maxExecutionsPerTaskName = maxExecutionsPerTaskName;
+	}
+
+	/**
+	 * Sets the maximum number of task executions removed in a single transaction.
+	 * Defaults to {@link #DEFAULT_CHUNK_SIZE}.
+	 *
+	 * @param chunkSize the chunk size
+	 */
+	public void setChunkSize(int chunkSize) {
+		Assert.isTrue(chunkSize > 0, "chunkSize must be greater than zero");
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Sets whether removed task executions are moved to the archive rather than
+	 * deleted.  Defaults to false.
+	 *
+	 * @param archive true if task executions should be archived
+	 */
+	public void setArchive(boolean archive) {
+		this.archive = archive;
+	}
+
+	/**
+	 * Applies the retention policies.
+	 *
+	 * @return the number of task executions removed
+	 */
+	public int purge() {
+		int removed = 0;
+		if (maxAge >= 0) {
+			removed += purgeByAge(new Date(System.currentTimeMillis() - maxAge));
+		}
+		if (maxExecutionsPerTaskName >= 0) {
+			for (String taskName : taskExecutionDao.getTaskNames()) {
+				removed += purgeByCount(taskName);
+			}
+		}
+		logger.info(String.format("%s %s task execution(s)",
+				archive ? "Archived" : "Deleted", removed));
+		return removed;
+	}
+
+	private int purgeByAge(Date startTime) {
+		int removed = 0;
+		List<Long> ids;
+		do {
+			ids = taskExecutionDao.findCompletedTaskExecutionIdsStartedBefore(startTime, chunkSize);
+			int chunkRemoved = remove(ids);
+			if (chunkRemoved == 0) {
+				break;
+			}
+			removed += chunkRemoved;
+		}
+		while (ids.size() == chunkSize);
+		return removed;
+	}
+
+	private int purgeByCount(String taskName) {
+		long excess = taskExecutionDao.getTaskExecutionCountByTaskName(taskName)
+				- taskExecutionDao.getRunningTaskExecutionCountByTaskName(taskName)
+				- maxExecutionsPerTaskName;
+		int removed = 0;
+		while (excess > 0) {
+			List<Long> ids = taskExecutionDao.findOldestCompletedTaskExecutionIds(taskName,
+					(int) Math.min(excess, chunkSize));
+			int chunkRemoved = remove(ids);
+			if (chunkRemoved == 0) {
+				break;
+			}
+			excess -= chunkRemoved;
+			removed += chunkRemoved;
+		}
+		return removed;
+	}
+
+	private int remove(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		return archive ? taskExecutionDao.archiveTaskExecutions(ids)
+				: taskExecutionDao.deleteTaskExecutions(ids);
+	}
+}
@@ -0,0 +1,17 @@
+
+CREATE TABLE TASK_EXECUTION_ARCHIVE  (
+	TASK_EXECUTION_ID BIGINT NOT NULL PRIMARY KEY ,
+	START_TIME DATETIME DEFAULT NULL ,
+	END_TIME DATETIME DEFAULT NULL ,
+	TASK_NAME  VARCHAR(100) ,
+	EXIT_CODE INTEGER ,
+	EXIT_MESSAGE VARCHAR(2500) ,
+	LAST_UPDATED TIMESTAMP
+) ENGINE=InnoDB;
+
+CREATE TABLE TASK_EXECUTION_PARAMS_ARCHIVE  (
+	TASK_EXECUTION_ID BIGINT NOT NULL ,
+	TASK_PARAM VARCHAR(250)
+) ENGINE=InnoDB;
+
+CREATE INDEX TASK_EXEC_ARCH_PARAMS_ID_IX ON TASK_EXECUTION_PARAMS_ARCHIVE (TASK_EXECUTION_ID) ;
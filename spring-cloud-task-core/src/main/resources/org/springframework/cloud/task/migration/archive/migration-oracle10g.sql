@@ -0,0 +1,17 @@
+
+CREATE TABLE TASK_EXECUTION_ARCHIVE  (
+	TASK_EXECUTION_ID NUMBER NOT NULL PRIMARY KEY ,
+	START_TIME TIMESTAMP DEFAULT NULL ,
+	END_TIME TIMESTAMP DEFAULT NULL ,
+	TASK_NAME  VARCHAR2(100) ,
+	EXIT_CODE INTEGER ,
+	EXIT_MESSAGE VARCHAR2(2500) ,
+	LAST_UPDATED TIMESTAMP
+);
+
+CREATE TABLE TASK_EXECUTION_PARAMS_ARCHIVE  (
+	TASK_EXECUTION_ID NUMBER NOT NULL ,
+	TASK_PARAM VARCHAR2(250)
+) ;
+
+CREATE INDEX TASK_EXEC_ARCH_PARAMS_ID_IX ON TASK_EXECUTION_PARAMS_ARCHIVE (TASK_EXECUTION_ID) ;
@@ -0,0 +1,5 @@
+
+CREATE INDEX TASK_EXEC_NAME_START_IX ON TASK_EXECUTION (TASK_NAME, START_TIME DESC, TASK_EXECUTION_ID DESC) ;
+CREATE INDEX TASK_EXEC_START_IX ON TASK_EXECUTION (START_TIME DESC, TASK_EXECUTION_ID DESC) ;
+CREATE INDEX TASK_EXEC_RUNNING_IX ON TASK_EXECUTION (TASK_NAME, END_TIME) ;
+CREATE INDEX TASK_EXEC_PARAMS_ID_IX ON TASK_EXECUTION_PARAMS (TASK_EXECUTION_ID) ;
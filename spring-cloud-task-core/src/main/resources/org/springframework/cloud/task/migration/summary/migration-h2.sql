@@ -0,0 +1,8 @@
+
+CREATE TABLE TASK_SUMMARY  (
+	TASK_NAME  VARCHAR(100) NOT NULL PRIMARY KEY ,
+	EXECUTION_COUNT BIGINT NOT NULL ,
+	RUNNING_COUNT BIGINT NOT NULL ,
+	LAST_START_TIME TIMESTAMP DEFAULT NULL ,
+	LAST_EXIT_CODE INTEGER
+);
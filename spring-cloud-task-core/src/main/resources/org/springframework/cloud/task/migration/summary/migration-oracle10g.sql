@@ -0,0 +1,8 @@
+
+CREATE TABLE TASK_SUMMARY  (
+	TASK_NAME  VARCHAR2(100) NOT NULL PRIMARY KEY ,
+	EXECUTION_COUNT NUMBER NOT NULL ,
+	RUNNING_COUNT NUMBER NOT NULL ,
+	LAST_START_TIME TIMESTAMP DEFAULT NULL ,
+	LAST_EXIT_CODE INTEGER
+);
@@ -0,0 +1,6 @@
+
+CREATE TABLE TASK_SCHEMA_VERSION  (
+	VERSION INTEGER NOT NULL PRIMARY KEY ,
+	DESCRIPTION VARCHAR(100) ,
+	INSTALLED_ON DATETIME
+) ENGINE=InnoDB;
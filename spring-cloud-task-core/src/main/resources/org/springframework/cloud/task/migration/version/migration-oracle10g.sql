@@ -0,0 +1,6 @@
+
+CREATE TABLE TASK_SCHEMA_VERSION  (
+	VERSION NUMBER NOT NULL PRIMARY KEY ,
+	DESCRIPTION VARCHAR2(100) ,
+	INSTALLED_ON TIMESTAMP
+);
@@ -16,6 +16,44 @@ CREATE TABLE TASK_EXECUTION_PARAMS  (
 	references TASK_EXECUTION(TASK_EXECUTION_ID)
 ) ;
 
+CREATE TABLE TASK_EXECUTION_ARCHIVE  (
+	TASK_EXECUTION_ID BIGINT NOT NULL PRIMARY KEY ,
+	START_TIME TIMESTAMP DEFAULT NULL ,
+	END_TIME TIMESTAMP DEFAULT NULL ,
+	TASK_NAME  VARCHAR(100) ,
+	EXIT_CODE INTEGER ,
+	EXIT_MESSAGE VARCHAR(2500) ,
+	LAST_UPDATED TIMESTAMP
+);
+
+CREATE TABLE TASK_EXECUTION_PARAMS_ARCHIVE  (
+	TASK_EXECUTION_ID BIGINT NOT NULL ,
+	TASK_PARAM VARCHAR(250)
+) ;
+
+CREATE INDEX TASK_EXEC_ARCH_PARAMS_ID_IX ON TASK_EXECUTION_PARAMS_ARCHIVE (TASK_EXECUTION_ID) ;
+
+CREATE TABLE TASK_SUMMARY  (
+	TASK_NAME  VARCHAR(100) NOT NULL PRIMARY KEY ,
+	EXECUTION_COUNT BIGINT NOT NULL ,
+	RUNNING_COUNT BIGINT NOT NULL ,
+	LAST_START_TIME TIMESTAMP DEFAULT NULL ,
+	LAST_EXIT_CODE INTEGER
+);
+
+CREATE INDEX TASK_EXEC_NAME_START_IX ON TASK_EXECUTION (TASK_NAME, START_TIME DESC, TASK_EXECUTION_ID DESC) ;
+CREATE INDEX TASK_EXEC_START_IX ON TASK_EXECUTION (START_TIME DESC, TASK_EXECUTION_ID DESC) ;
+CREATE INDEX TASK_EXEC_RUNNING_IX ON TASK_EXECUTION (TASK_NAME, END_TIME) ;
+CREATE INDEX TASK_EXEC_PARAMS_ID_IX ON TASK_EXECUTION_PARAMS (TASK_EXECUTION_ID) ;
+
 CREATE TABLE TASK_SEQ (
 	ID BIGINT IDENTITY
 );
+
+CREATE TABLE TASK_SCHEMA_VERSION  (
+	VERSION INTEGER NOT NULL PRIMARY KEY ,
+	DESCRIPTION VARCHAR(100) ,
+	INSTALLED_ON TIMESTAMP
+);
+
+INSERT INTO TASK_SCHEMA_VERSION (VERSION, DESCRIPTION, INSTALLED_ON) VALUES (4, 'Task schema', CURRENT_TIMESTAMP) ;
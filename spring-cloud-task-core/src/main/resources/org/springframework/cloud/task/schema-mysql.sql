@@ -16,6 +16,34 @@ CREATE TABLE TASK_EXECUTION_PARAMS  (
 	references TASK_EXECUTION(TASK_EXECUTION_ID)
 ) ENGINE=InnoDB;
 
+CREATE TABLE TASK_EXECUTION_ARCHIVE  (
+	TASK_EXECUTION_ID BIGINT NOT NULL PRIMARY KEY ,
+	START_TIME DATETIME DEFAULT NULL ,
+	END_TIME DATETIME DEFAULT NULL ,
+	TASK_NAME  VARCHAR(100) ,
+	EXIT_CODE INTEGER ,
+	EXIT_MESSAGE VARCHAR(2500) ,
+	LAST_UPDATED TIMESTAMP
+) ENGINE=InnoDB;
+
+CREATE TABLE TASK_EXECUTION_PARAMS_ARCHIVE  (
+	TASK_EXECUTION_ID BIGINT NOT NULL ,
+	TASK_PARAM VARCHAR(250)
+) ENGINE=InnoDB;
+
+CREATE INDEX TASK_EXEC_ARCH_PARAMS_ID_IX ON TASK_EXECUTION_PARAMS_ARCHIVE (TASK_EXECUTION_ID) ;
+
+CREATE TABLE TASK_SUMMARY  (
+	TASK_NAME  VARCHAR(100) NOT NULL PRIMARY KEY ,
+	EXECUTION_COUNT BIGINT NOT NULL ,
+	RUNNING_COUNT BIGINT NOT NULL ,
+	LAST_START_TIME DATETIME DEFAULT NULL ,
+	LAST_EXIT_CODE INTEGER
+) ENGINE=InnoDB;
+
+CREATE INDEX TASK_EXEC_NAME_START_IX ON TASK_EXECUTION (TASK_NAME, START_TIME DESC, TASK_EXECUTION_ID DESC) ;
+CREATE INDEX TASK_EXEC_START_IX ON TASK_EXECUTION (START_TIME DESC, TASK_EXECUTION_ID DESC) ;
+CREATE INDEX TASK_EXEC_RUNNING_IX ON TASK_EXECUTION (TASK_NAME, END_TIME) ;
 
 CREATE TABLE TASK_SEQ (
 	ID BIGINT NOT NULL,
@@ -24,3 +52,11 @@ CREATE TABLE TASK_SEQ (
 ) ENGINE=MYISAM;
 
 INSERT INTO TASK_SEQ (ID, UNIQUE_KEY) select * from (select 0 as ID, '0' as UNIQUE_KEY) as tmp;
+
+CREATE TABLE TASK_SCHEMA_VERSION  (
+	VERSION INTEGER NOT NULL PRIMARY KEY ,
+	DESCRIPTION VARCHAR(100) ,
+	INSTALLED_ON DATETIME
+) ENGINE=InnoDB;
+
+INSERT INTO TASK_SCHEMA_VERSION (VERSION, DESCRIPTION, INSTALLED_ON) VALUES (4, 'Task schema', CURRENT_TIMESTAMP) ;
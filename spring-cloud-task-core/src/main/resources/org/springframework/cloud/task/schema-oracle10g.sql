@@ -16,4 +16,42 @@ CREATE TABLE TASK_EXECUTION_PARAMS  (
 	references TASK_EXECUTION(TASK_EXECUTION_ID)
 ) ;
 
-CREATE SEQUENCE TASK_SEQ START WITH 0 MINVALUE 0 MAXVALUE 9223372036854775807 NOCACHE NOCYCLE;
\ No newline at end of file
+CREATE TABLE TASK_EXECUTION_ARCHIVE  (
+	TASK_EXECUTION_ID NUMBER NOT NULL PRIMARY KEY ,
+	START_TIME TIMESTAMP DEFAULT NULL ,
+	END_TIME TIMESTAMP DEFAULT NULL ,
+	TASK_NAME  VARCHAR2(100) ,
+	EXIT_CODE INTEGER ,
+	EXIT_MESSAGE VARCHAR2(2500) ,
+	LAST_UPDATED TIMESTAMP
+);
+
+CREATE TABLE TASK_EXECUTION_PARAMS_ARCHIVE  (
+	TASK_EXECUTION_ID NUMBER NOT NULL ,
+	TASK_PARAM VARCHAR2(250)
+) ;
+
+CREATE INDEX TASK_EXEC_ARCH_PARAMS_ID_IX ON TASK_EXECUTION_PARAMS_ARCHIVE (TASK_EXECUTION_ID) ;
+
+CREATE TABLE TASK_SUMMARY  (
+	TASK_NAME  VARCHAR2(100) NOT NULL PRIMARY KEY ,
+	EXECUTION_COUNT NUMBER NOT NULL ,
+	RUNNING_COUNT NUMBER NOT NULL ,
+	LAST_START_TIME TIMESTAMP DEFAULT NULL ,
+	LAST_EXIT_CODE INTEGER
+);
+
+CREATE INDEX TASK_EXEC_NAME_START_IX ON TASK_EXECUTION (TASK_NAME, START_TIME DESC, TASK_EXECUTION_ID DESC) ;
+CREATE INDEX TASK_EXEC_START_IX ON TASK_EXECUTION (START_TIME DESC, TASK_EXECUTION_ID DESC) ;
+CREATE INDEX TASK_EXEC_RUNNING_IX ON TASK_EXECUTION (TASK_NAME, END_TIME) ;
+CREATE INDEX TASK_EXEC_PARAMS_ID_IX ON TASK_EXECUTION_PARAMS (TASK_EXECUTION_ID) ;
+
+CREATE SEQUENCE TASK_SEQ START WITH 0 MINVALUE 0 MAXVALUE 9223372036854775807 NOCACHE NOCYCLE;
+
+CREATE TABLE TASK_SCHEMA_VERSION  (
+	VERSION NUMBER NOT NULL PRIMARY KEY ,
+	DESCRIPTION VARCHAR2(100) ,
+	INSTALLED_ON TIMESTAMP
+);
+
+INSERT INTO TASK_SCHEMA_VERSION (VERSION, DESCRIPTION, INSTALLED_ON) VALUES (4, 'Task schema', CURRENT_TIMESTAMP) ;
@@ -26,7 +26,9 @@ import org.springframework.aop.framework.Advised;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.PropertyPlaceholderAutoConfiguration;
 import org.springframework.cloud.task.configuration.SimpleTaskConfiguration;
+import org.springframework.cloud.task.repository.TaskExplorer;
 import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.cloud.task.repository.support.SimpleTaskExplorer;
 import org.springframework.cloud.task.repository.support.SimpleTaskRepository;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
@@ -43,11 +45,20 @@ public class SimpleTaskConfigurationTests {
 	@Autowired
 	private TaskRepository taskRepository;
 
+	@Autowired
+	private TaskExplorer taskExplorer;
+
 	@Test
 	public void testRepository() throws Exception {
 		assertNotNull("testRepository should not be null", taskRepository);
 		TaskRepository clazz = (TaskRepository) ((Advised)taskRepository).getTargetSource().getTarget();
 		assertThat(clazz, instanceOf(SimpleTaskRepository.class));
 	}
+
+	@Test
+	public void testExplorer() {
+		assertNotNull("taskExplorer should not be null", taskExplorer);
+		assertThat(taskExplorer, instanceOf(SimpleTaskExplorer.class));
+	}
 }
 
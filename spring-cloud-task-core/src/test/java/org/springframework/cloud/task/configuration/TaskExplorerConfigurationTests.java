@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.PropertyPlaceholderAutoConfiguration;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.cloud.task.repository.dao.MapTaskExecutionDao;
+import org.springframework.cloud.task.repository.support.SimpleTaskExplorer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Verifies when the {@link TaskExplorer} provided by the {@link TaskConfigurer} is
+ * exposed as a bean.
+ */
+public class TaskExplorerConfigurationTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	@After
+	public void close() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+	@Test
+	public void testConfigurerExplorerExposed() {
+		this.context = new AnnotationConfigApplicationContext(ExplorerClientConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		assertEquals(1, this.context.getBeanNamesForType(TaskExplorer.class).length);
+		assertSame(this.context.getBean(TaskExplorer.class),
+				this.context.getBean(ExplorerClient.class).taskExplorer);
+	}
+
+	@Test
+	public void testUserExplorerAlongsideEnableTask() {
+		this.context = new AnnotationConfigApplicationContext(UserExplorerConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		assertEquals(1, this.context.getBeanNamesForType(TaskExplorer.class).length);
+		assertSame(this.context.getBean("userTaskExplorer"),
+				this.context.getBean(ExplorerClient.class).taskExplorer);
+	}
+
+	@Test
+	public void testUserExplorerInSeparateConfiguration() {
+		this.context = new AnnotationConfigApplicationContext(SimpleTaskConfiguration.class,
+				UserExplorerConfiguration.class, PropertyPlaceholderAutoConfiguration.class);
+		assertEquals(1, this.context.getBeanNamesForType(TaskExplorer.class).length);
+		assertSame(this.context.getBean("userTaskExplorer"),
+				this.context.getBean(TaskExplorer.class));
+	}
+
+	@Test
+	public void testNoExplorerFromConfigurer() {
+		this.context = new AnnotationConfigApplicationContext(NoExplorerConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		assertEquals(0, this.context.getBeansOfType(TaskExplorer.class).size());
+		assertNull(this.context.getBean(ExplorerClient.class).taskExplorer);
+	}
+
+	private static class ExplorerClient {
+
+		@Autowired(required = false)
+		private TaskExplorer taskExplorer;
+	}
+
+	@Configuration
+	@EnableTask
+	public static class ExplorerClientConfiguration {
+
+		@Bean
+		public ExplorerClient explorerClient() {
+			return new ExplorerClient();
+		}
+	}
+
+	@Configuration
+	@EnableTask
+	public static class UserExplorerConfiguration {
+
+		@Bean
+		public TaskExplorer userTaskExplorer() {
+			return new SimpleTaskExplorer(new MapTaskExecutionDao());
+		}
+
+		@Bean
+		public ExplorerClient explorerClient() {
+			return new ExplorerClient();
+		}
+	}
+
+	@Configuration
+	@EnableTask
+	public static class NoExplorerConfiguration {
+
+		@Bean
+		public TaskConfigurer taskConfigurer() {
+			final TaskConfigurer defaultTaskConfigurer = new DefaultTaskConfigurer();
+			return new TaskConfigurer() {
+				@Override
+				public TaskRepository getTaskRepository() {
+					return defaultTaskConfigurer.getTaskRepository();
+				}
+
+				@Override
+				public PlatformTransactionManager getTransactionManager() {
+					return defaultTaskConfigurer.getTransactionManager();
+				}
+
+				@Override
+				public TaskExplorer getTaskExplorer() {
+					return null;
+				}
+			};
+		}
+
+		@Bean
+		public ExplorerClient explorerClient() {
+			return new ExplorerClient();
+		}
+	}
+}
@@ -19,6 +19,11 @@ package org.springframework.cloud.task.listener;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -27,6 +32,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
 
 import org.junit.After;
 import org.junit.Before;
@@ -36,13 +43,18 @@ import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.PropertyPlaceholderAutoConfiguration;
 import org.springframework.boot.context.event.ApplicationFailedEvent;
+import org.springframework.boot.test.EnvironmentTestUtils;
 import org.springframework.cloud.task.repository.TaskExecution;
 import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.cloud.task.repository.support.SimpleTaskNameResolver;
 import org.springframework.cloud.task.util.TestDefaultConfiguration;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -104,6 +116,45 @@ public class TaskLifecycleListenerTests {
 		verifyTaskExecution(0, true, 1, exception);
 	}
 
+	@Test
+	public void testDeferredTaskUpdate() {
+		EnvironmentTestUtils.addEnvironment(context, "spring.cloud.task.deferred-start:true");
+		context.register(ArgsConfiguration.class);
+		context.refresh();
+
+		context.publishEvent(new ContextClosedEvent(context));
+
+		verifyTaskExecution(2, true, 0, null);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testDeferredStartTimeoutSkipsTaskEnd() {
+		TaskRepository taskRepository = mock(TaskRepository.class);
+		AsyncTaskExecutor executor = mock(AsyncTaskExecutor.class);
+		// The start of the task is never recorded.
+		when(executor.submit(any(Callable.class))).thenReturn(
+				new FutureTask<>(new Callable<TaskExecution>() {
+					@Override
+					public TaskExecution call() {
+						return null;
+					}
+				}));
+		SimpleTaskNameResolver taskNameResolver = new SimpleTaskNameResolver();
+		taskNameResolver.setApplicationContext(context);
+		TaskLifecycleListener listener = new TaskLifecycleListener(taskRepository,
+				taskNameResolver, null);
+		listener.setDeferredStart(true);
+		listener.setDeferredStartExecutor(executor);
+		listener.setDeferredStartTimeout(10);
+
+		listener.onApplicationEvent(new ContextRefreshedEvent(context));
+		listener.onApplicationEvent(new ContextClosedEvent(context));
+
+		verify(executor).submit(any(Callable.class));
+		verify(taskRepository, never()).update(any(TaskExecution.class));
+	}
+
 	private static String stackTraceToString(Throwable exception) {
 		StringWriter writer = new StringWriter();
 		PrintWriter printWriter = new PrintWriter(writer);
@@ -16,6 +16,31 @@
 
 package org.springframework.cloud.task.repository.dao;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.sql.DataSource;
 
 import org.junit.Before;
@@ -26,11 +51,21 @@ import org.springframework.boot.autoconfigure.PropertyPlaceholderAutoConfigurati
 import org.springframework.boot.autoconfigure.jdbc.EmbeddedDataSourceConfiguration;
 import org.springframework.cloud.task.configuration.TestConfiguration;
 import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExecutionCallback;
 import org.springframework.cloud.task.util.TestDBUtils;
 import org.springframework.cloud.task.util.TestVerifierUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Executes unit tests on JdbcTaskExecutionDao.
@@ -74,6 +109,50 @@ public class JdbcTaskExecutionDaoTests {
 				TestDBUtils.getTaskExecutionFromDB(dataSource, expectedTaskExecution.getExecutionId()));
 	}
 
+	@Test
+	@DirtiesContext
+	public void saveTaskExecutionInParameterBatches() {
+		dao.setParameterBatchSize(3);
+		TaskExecution expectedTaskExecution = TestVerifierUtils.createSampleTaskExecutionNoParam();
+		List<String> params = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			params.add("param" + i);
+		}
+		expectedTaskExecution.setParameters(params);
+		dao.saveTaskExecution(expectedTaskExecution);
+
+		TestVerifierUtils.verifyTaskExecution(expectedTaskExecution,
+				dao.getTaskExecution(expectedTaskExecution.getExecutionId()));
+	}
+
+	@Test
+	@DirtiesContext
+	public void getTaskExecutionWithoutParameters() {
+		TaskExecution expectedTaskExecution = TestVerifierUtils.createSampleTaskExecutionNoParam();
+		dao.saveTaskExecution(expectedTaskExecution);
+
+		TaskExecution actualTaskExecution = dao.getTaskExecution(expectedTaskExecution.getExecutionId());
+		TestVerifierUtils.verifyTaskExecution(expectedTaskExecution, actualTaskExecution);
+		assertEquals(0, actualTaskExecution.getParameters().size());
+		assertNull(dao.getTaskExecution(expectedTaskExecution.getExecutionId() + 1));
+	}
+
+	@Test
+	@DirtiesContext
+	public void saveTaskExecutionRollsBackOnParameterFailure() {
+		TaskExecution expectedTaskExecution = TestVerifierUtils.createSampleTaskExecutionNoParam();
+		char[] longParam = new char[300];
+		Arrays.fill(longParam, 'a');
+		expectedTaskExecution.setParameters(Arrays.asList("param", new String(longParam)));
+		try {
+			dao.saveTaskExecution(expectedTaskExecution);
+			fail("Expected the parameter insert to fail");
+		}
+		catch (DataAccessException e) {
+			assertNull(dao.getTaskExecution(expectedTaskExecution.getExecutionId()));
+		}
+	}
+
 	@Test(expected = IllegalStateException.class)
 	@DirtiesContext
 	public void updateTaskExecutionWithNoCreate() {
@@ -82,4 +161,341 @@ public class JdbcTaskExecutionDaoTests {
 		TaskExecution expectedTaskExecution = TestVerifierUtils.createSampleTaskExecutionNoParam();
 		dao.updateTaskExecution(expectedTaskExecution);
 	}
+
+	@Test
+	@DirtiesContext
+	public void findAllPopulatesParameters() {
+		Map<Long, TaskExecution> expectedResults = new HashMap<>();
+		for (int i = 0; i < 5; i++) {
+			TaskExecution expectedTaskExecution = TestVerifierUtils.createSampleTaskExecution(i);
+			dao.saveTaskExecution(expectedTaskExecution);
+			expectedResults.put(expectedTaskExecution.getExecutionId(), expectedTaskExecution);
+		}
+
+		Page<TaskExecution> page = dao.findAll(new PageRequest(0, 10));
+		assertEquals(5, page.getNumberOfElements());
+		for (TaskExecution actualTaskExecution : page) {
+			TestVerifierUtils.verifyTaskExecution(
+					expectedResults.get(actualTaskExecution.getExecutionId()),
+					actualTaskExecution);
+		}
+	}
+
+	@Test
+	@DirtiesContext
+	public void findAllWithCountWithPageQuery() {
+		dao.setCountWithPageQuery(true);
+		for (int i = 0; i < 5; i++) {
+			dao.saveTaskExecution(TestVerifierUtils.createSampleTaskExecution(i));
+		}
+
+		Page<TaskExecution> page = dao.findAll(new PageRequest(0, 2));
+		assertEquals(2, page.getNumberOfElements());
+		assertEquals(5, page.getTotalElements());
+		page = dao.findAll(new PageRequest(5, 2));
+		assertEquals(0, page.getNumberOfElements());
+		assertEquals(5, page.getTotalElements());
+	}
+
+	@Test
+	@DirtiesContext
+	public void pageRequestsOfTheSameShapeReuseThePagingQueryProvider() {
+		MetaDataCountingDataSource countingDataSource = new MetaDataCountingDataSource(dataSource);
+		JdbcTaskExecutionDao dao = new JdbcTaskExecutionDao(countingDataSource);
+		dao.setTaskIncrementer(TestDBUtils.getIncrementer(dataSource));
+		for (int i = 0; i < 5; i++) {
+			TaskExecution taskExecution = TestVerifierUtils.createSampleTaskExecution(i);
+			taskExecution.setTaskName("foo");
+			dao.saveTaskExecution(taskExecution);
+		}
+
+		assertEquals(2, dao.findAll(new PageRequest(0, 2)).getNumberOfElements());
+		assertEquals(2, dao.findTaskExecutionsByName("foo", new PageRequest(0, 2))
+				.getNumberOfElements());
+		assertTrue(countingDataSource.metaDataRequests.get() > 0);
+
+		countingDataSource.metaDataRequests.set(0);
+		assertEquals(2, dao.findAll(new PageRequest(1, 2)).getNumberOfElements());
+		assertEquals(1, dao.findAll(new PageRequest(2, 2)).getNumberOfElements());
+		assertEquals(2, dao.findTaskExecutionsByName("foo", new PageRequest(1, 2))
+				.getNumberOfElements());
+		assertEquals(0, countingDataSource.metaDataRequests.get());
+	}
+
+	@Test
+	@DirtiesContext
+	public void keysetPagesSkipExecutionsWithoutStartTime() {
+		for (int i = 0; i < 3; i++) {
+			TaskExecution taskExecution = TestVerifierUtils.createSampleTaskExecution(i);
+			taskExecution.setTaskName("foo");
+			taskExecution.setStartTime(new Date(1000L * (i + 1)));
+			if (i == 1) {
+				taskExecution.setStartTime(null);
+			}
+			dao.saveTaskExecution(taskExecution);
+		}
+
+		assertEquals(3, countRows("TASK_EXECUTION"));
+		List<TaskExecution> firstPage = dao.findAllAfter(null, 0, 1);
+		assertEquals(1, firstPage.size());
+		assertEquals(2, firstPage.get(0).getExecutionId());
+		List<TaskExecution> nextPage = dao.findAllAfter(firstPage.get(0).getStartTime(), 2, 10);
+		assertEquals(1, nextPage.size());
+		assertEquals(0, nextPage.get(0).getExecutionId());
+		assertEquals(2, dao.findTaskExecutionsByNameAfter("foo", null, 0, 10).size());
+	}
+
+	@Test
+	@DirtiesContext
+	public void forEachTaskExecutionStreamsAllExecutions() {
+		dao.setFetchSize(2);
+		Map<Long, TaskExecution> expectedResults = new HashMap<>();
+		for (int i = 0; i < 6; i++) {
+			TaskExecution expectedTaskExecution = (i == 3)
+					? TestVerifierUtils.createSampleTaskExecutionNoParam(i)
+					: TestVerifierUtils.createSampleTaskExecution(i);
+			expectedTaskExecution.setStartTime(new Date(1000L * i));
+			dao.saveTaskExecution(expectedTaskExecution);
+			expectedResults.put(expectedTaskExecution.getExecutionId(), expectedTaskExecution);
+		}
+
+		final List<TaskExecution> actualResults = new ArrayList<>();
+		dao.forEachTaskExecution(new TaskExecutionCallback() {
+			@Override
+			public void processTaskExecution(TaskExecution taskExecution) {
+				actualResults.add(taskExecution);
+			}
+		});
+		assertEquals(6, actualResults.size());
+		for (int i = 0; i < actualResults.size(); i++) {
+			TaskExecution actualTaskExecution = actualResults.get(i);
+			assertEquals(5 - i, actualTaskExecution.getExecutionId());
+			TestVerifierUtils.verifyTaskExecution(
+					expectedResults.get(actualTaskExecution.getExecutionId()),
+					actualTaskExecution);
+		}
+	}
+
+	@Test
+	@DirtiesContext
+	public void getTaskExecutionsByIds() {
+		Map<Long, TaskExecution> expectedResults = new HashMap<>();
+		for (int i = 0; i < 4; i++) {
+			TaskExecution expectedTaskExecution = (i == 2)
+					? TestVerifierUtils.createSampleTaskExecutionNoParam(i)
+					: TestVerifierUtils.createSampleTaskExecution(i);
+			dao.saveTaskExecution(expectedTaskExecution);
+			expectedResults.put(expectedTaskExecution.getExecutionId(), expectedTaskExecution);
+		}
+
+		List<TaskExecution> actualResults = dao.getTaskExecutions(Arrays.asList(3L, 99L, 0L, 2L, 3L));
+		assertEquals(3, actualResults.size());
+		assertEquals(3, actualResults.get(0).getExecutionId());
+		assertEquals(0, actualResults.get(1).getExecutionId());
+		assertEquals(2, actualResults.get(2).getExecutionId());
+		for (TaskExecution actualTaskExecution : actualResults) {
+			TestVerifierUtils.verifyTaskExecution(
+					expectedResults.get(actualTaskExecution.getExecutionId()),
+					actualTaskExecution);
+		}
+		assertEquals(0, dao.getTaskExecutions(new ArrayList<Long>()).size());
+	}
+
+	@Test
+	@DirtiesContext
+	public void findCompletedTaskExecutionIdsStartedBefore() {
+		for (int i = 0; i < 4; i++) {
+			TaskExecution taskExecution = TestVerifierUtils.createSampleTaskExecution(i);
+			taskExecution.setStartTime(new Date(1000L * (4 - i)));
+			dao.saveTaskExecution(taskExecution);
+		}
+		TaskExecution running = TestVerifierUtils.createSampleTaskExecution(4);
+		running.setStartTime(new Date(500L));
+		running.setEndTime(null);
+		dao.saveTaskExecution(running);
+
+		assertEquals(Arrays.asList(3L, 2L), dao.findCompletedTaskExecutionIdsStartedBefore(
+				new Date(3500L), 2));
+		assertEquals(Arrays.asList(3L, 2L, 1L), dao.findCompletedTaskExecutionIdsStartedBefore(
+				new Date(3500L), 10));
+	}
+
+	@Test
+	@DirtiesContext
+	public void deleteTaskExecutionsRetainsRunningExecutions() {
+		TaskExecution completed = TestVerifierUtils.createSampleTaskExecution(1);
+		dao.saveTaskExecution(completed);
+		TaskExecution running = TestVerifierUtils.createSampleTaskExecution(2);
+		running.setEndTime(null);
+		dao.saveTaskExecution(running);
+
+		assertEquals(1, dao.deleteTaskExecutions(Arrays.asList(1L, 2L)));
+		assertNull(dao.getTaskExecution(1));
+		assertEquals(0, countRows("TASK_EXECUTION_PARAMS where TASK_EXECUTION_ID = 1"));
+		TestVerifierUtils.verifyTaskExecution(running, dao.getTaskExecution(2));
+	}
+
+	@Test
+	@DirtiesContext
+	public void archiveTaskExecutions() {
+		TaskExecution completed = TestVerifierUtils.createSampleTaskExecution(1);
+		dao.saveTaskExecution(completed);
+
+		assertEquals(1, dao.archiveTaskExecutions(Arrays.asList(1L)));
+		assertNull(dao.getTaskExecution(1));
+		assertEquals(1, countRows("TASK_EXECUTION_ARCHIVE where TASK_EXECUTION_ID = 1"));
+		assertEquals(TestVerifierUtils.PARAM_SIZE,
+				countRows("TASK_EXECUTION_PARAMS_ARCHIVE where TASK_EXECUTION_ID = 1"));
+	}
+
+	@Test
+	@DirtiesContext
+	public void summaryTableMaintainedOnSaveUpdateAndDelete() {
+		dao.setUseSummaryTable(true);
+		TaskExecution first = new TaskExecution(1, 0, "foo", new Date(1000), null, null,
+				new ArrayList<String>());
+		TaskExecution second = new TaskExecution(2, 0, "foo", new Date(2000), null, null,
+				new ArrayList<String>());
+		TaskExecution unnamed = new TaskExecution(3, 0, null, new Date(3000), null, null,
+				new ArrayList<String>());
+		dao.saveTaskExecution(first);
+		dao.saveTaskExecution(second);
+		dao.saveTaskExecution(unnamed);
+		assertEquals(2, dao.getTaskExecutionCountByTaskName("foo"));
+		assertEquals(2, dao.getRunningTaskExecutionCountByTaskName("foo"));
+		assertEquals(3, dao.getTaskExecutionCount());
+		assertEquals(Arrays.asList("foo"), dao.getTaskNames());
+
+		second.setEndTime(new Date(2500));
+		second.setExitCode(5);
+		dao.updateTaskExecution(second);
+		assertEquals(2, dao.getTaskExecutionCountByTaskName("foo"));
+		assertEquals(1, dao.getRunningTaskExecutionCountByTaskName("foo"));
+		assertEquals(5, new JdbcTemplate(dataSource).queryForObject(
+				"SELECT LAST_EXIT_CODE FROM TASK_SUMMARY WHERE TASK_NAME = 'foo'", Integer.class)
+				.intValue());
+
+		first.setTaskName("bar");
+		dao.updateTaskExecution(first);
+		assertEquals(1, dao.getTaskExecutionCountByTaskName("foo"));
+		assertEquals(0, dao.getRunningTaskExecutionCountByTaskName("foo"));
+		assertEquals(1, dao.getRunningTaskExecutionCountByTaskName("bar"));
+		assertEquals(Arrays.asList("bar", "foo"), dao.getTaskNames());
+
+		assertEquals(1, dao.deleteTaskExecutions(Arrays.asList(2L)));
+		assertEquals(0, dao.getTaskExecutionCountByTaskName("foo"));
+		assertEquals(Arrays.asList("bar"), dao.getTaskNames());
+		assertEquals(2, dao.getTaskExecutionCount());
+	}
+
+	@Test
+	@DirtiesContext
+	public void summaryTablePopulatedWhenEnabledOverExistingExecutions() {
+		dao.saveTaskExecution(new TaskExecution(1, 0, "foo", new Date(1000), null, null,
+				new ArrayList<String>()));
+		dao.saveTaskExecution(new TaskExecution(2, 3, "foo", new Date(2000), new Date(2500),
+				null, new ArrayList<String>()));
+		dao.saveTaskExecution(new TaskExecution(3, 0, "bar", new Date(3000), null, null,
+				new ArrayList<String>()));
+		assertEquals(0, countRows("TASK_SUMMARY"));
+
+		JdbcTaskExecutionDao summaryDao = new JdbcTaskExecutionDao(dataSource);
+		summaryDao.setUseSummaryTable(true);
+		assertEquals(2, summaryDao.getTaskExecutionCountByTaskName("foo"));
+		assertEquals(1, summaryDao.getRunningTaskExecutionCountByTaskName("foo"));
+		assertEquals(Arrays.asList("bar", "foo"), summaryDao.getTaskNames());
+		assertEquals(3, new JdbcTemplate(dataSource).queryForObject(
+				"SELECT LAST_EXIT_CODE FROM TASK_SUMMARY WHERE TASK_NAME = 'foo'", Integer.class)
+				.intValue());
+
+		summaryDao.saveTaskExecution(new TaskExecution(4, 0, "bar", new Date(4000), null, null,
+				new ArrayList<String>()));
+		assertEquals(2, summaryDao.getTaskExecutionCountByTaskName("bar"));
+		assertEquals(4, summaryDao.getTaskExecutionCount());
+	}
+
+	@Test
+	@DirtiesContext
+	public void summaryTableNotRepopulatedAfterWaitingForAnotherProcess() throws Exception {
+		dao.saveTaskExecution(new TaskExecution(1, 0, "foo", new Date(1000), null, null,
+				new ArrayList<String>()));
+		final JdbcTaskExecutionDao summaryDao = new JdbcTaskExecutionDao(dataSource);
+		summaryDao.setUseSummaryTable(true);
+		final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final List<Future<Long>> counts = new ArrayList<>();
+		try {
+			new TransactionTemplate(new DataSourceTransactionManager(dataSource)).execute(
+					new TransactionCallbackWithoutResult() {
+						@Override
+						protected void doInTransactionWithoutResult(TransactionStatus status) {
+							// Another process holds the lock while it populates the summary.
+							jdbcTemplate.update("UPDATE TASK_SCHEMA_VERSION set VERSION = VERSION");
+							counts.add(executor.submit(new Callable<Long>() {
+								@Override
+								public Long call() {
+									return summaryDao.getTaskExecutionCountByTaskName("foo");
+								}
+							}));
+							try {
+								Thread.sleep(200);
+							}
+							catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+							}
+							assertFalse(counts.get(0).isDone());
+							// The count includes a change applied by a later task, which a
+							// second population would discard.
+							jdbcTemplate.update("INSERT INTO TASK_SUMMARY (TASK_NAME, EXECUTION_COUNT, "
+									+ "RUNNING_COUNT) values ('foo', 2, 2)");
+						}
+					});
+			assertEquals(2, counts.get(0).get(5, TimeUnit.SECONDS).longValue());
+			assertEquals(2, jdbcTemplate.queryForObject(
+					"SELECT EXECUTION_COUNT FROM TASK_SUMMARY WHERE TASK_NAME = 'foo'", Long.class)
+					.longValue());
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		}
+	}
+
+	private long countRows(String tableAndCondition) {
+		return new JdbcTemplate(dataSource).queryForObject(
+				"SELECT COUNT(*) FROM " + tableAndCondition, Long.class);
+	}
+
+	/**
+	 * Counts the number of times the metadata of the database is requested.
+	 */
+	private static class MetaDataCountingDataSource extends DelegatingDataSource {
+
+		private final AtomicInteger metaDataRequests = new AtomicInteger();
+
+		MetaDataCountingDataSource(DataSource dataSource) {
+			super(dataSource);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			final Connection connection = super.getConnection();
+			return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class<?>[] {Connection.class}, new InvocationHandler() {
+						@Override
+						public Object invoke(Object proxy, Method method, Object[] args)
+								throws Throwable {
+							if (method.getName().equals("getMetaData")) {
+								metaDataRequests.incrementAndGet();
+							}
+							try {
+								return method.invoke(connection, args);
+							}
+							catch (InvocationTargetException e) {
+								throw e.getTargetException();
+							}
+						}
+					});
+		}
+	}
 }
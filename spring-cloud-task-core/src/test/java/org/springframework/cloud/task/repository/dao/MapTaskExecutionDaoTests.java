@@ -16,13 +16,21 @@
 
 package org.springframework.cloud.task.repository.dao;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
 import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExecutionCallback;
 import org.springframework.cloud.task.util.TestVerifierUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 /**
  * Executes unit tests on MapTaskExecutionDaoTests.
@@ -54,4 +62,69 @@ public class MapTaskExecutionDaoTests {
 				taskExecutionMap.get(expectedTaskExecution.getExecutionId()));
 	}
 
+	@Test
+	public void updateTaskExecutionMaintainsIndexes(){
+		MapTaskExecutionDao dao = new MapTaskExecutionDao();
+		TaskExecution first = new TaskExecution(1, 0, "foo", new Date(1000), null, null,
+				new ArrayList<String>());
+		TaskExecution second = new TaskExecution(2, 0, "foo", new Date(2000), null, null,
+				new ArrayList<String>());
+		TaskExecution other = new TaskExecution(3, 0, "bar", new Date(3000), null, null,
+				new ArrayList<String>());
+		dao.saveTaskExecution(first);
+		dao.saveTaskExecution(second);
+		dao.saveTaskExecution(other);
+		assertEquals(2, dao.getTaskExecutionCountByTaskName("foo"));
+		assertEquals(2, dao.getRunningTaskExecutionCountByTaskName("foo"));
+		assertEquals(Arrays.asList("bar", "foo"), dao.getTaskNames());
+
+		first.setEndTime(new Date());
+		first.setStartTime(new Date(2500));
+		dao.updateTaskExecution(first);
+		assertEquals(2, dao.getTaskExecutionCountByTaskName("foo"));
+		assertEquals(1, dao.getRunningTaskExecutionCountByTaskName("foo"));
+		Page<TaskExecution> running = dao.findRunningTaskExecutions("foo", new PageRequest(0, 10));
+		assertEquals(1, running.getNumberOfElements());
+		assertEquals(2, running.getContent().get(0).getExecutionId());
+		Page<TaskExecution> byName = dao.findTaskExecutionsByName("foo", new PageRequest(0, 10));
+		assertEquals(2, byName.getContent().get(0).getExecutionId());
+		assertEquals(1, byName.getContent().get(1).getExecutionId());
+
+		other.setTaskName("foo");
+		dao.updateTaskExecution(other);
+		assertEquals(3, dao.getTaskExecutionCountByTaskName("foo"));
+		assertEquals(0, dao.getTaskExecutionCountByTaskName("bar"));
+		assertEquals(Arrays.asList("foo"), dao.getTaskNames());
+		Page<TaskExecution> all = dao.findAll(new PageRequest(1, 2));
+		assertEquals(3, all.getTotalElements());
+		assertEquals(1, all.getNumberOfElements());
+		assertEquals(2, all.getContent().get(0).getExecutionId());
+	}
+
+	@Test
+	public void findByUnknownTaskName(){
+		MapTaskExecutionDao dao = new MapTaskExecutionDao();
+		assertEquals(0, dao.getTaskExecutionCountByTaskName("foo"));
+		assertEquals(0, dao.getRunningTaskExecutionCountByTaskName("foo"));
+		assertEquals(0, dao.findTaskExecutionsByName("foo", new PageRequest(0, 10)).getTotalElements());
+		assertEquals(0, dao.findTaskExecutionsByNameAfter("foo", null, 0, 10).size());
+	}
+
+	@Test
+	public void forEachTaskExecutionIteratesInStartTimeOrder(){
+		MapTaskExecutionDao dao = new MapTaskExecutionDao();
+		for (int i = 0; i < 3; i++) {
+			dao.saveTaskExecution(new TaskExecution(i, 0, "foo", new Date(1000L * (3 - i)),
+					null, null, new ArrayList<String>()));
+		}
+		final List<Long> ids = new ArrayList<>();
+		dao.forEachTaskExecution(new TaskExecutionCallback() {
+			@Override
+			public void processTaskExecution(TaskExecution taskExecution) {
+				ids.add(taskExecution.getExecutionId());
+			}
+		});
+		assertEquals(Arrays.asList(0L, 1L, 2L), ids);
+	}
+
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.database.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.springframework.cloud.task.util.TestDBUtils;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Verifies the deferred join page queries generated for each database type.
+ */
+@RunWith(Parameterized.class)
+public class DeferredJoinPagingQueryProviderTests {
+
+	private String databaseProductName;
+	private boolean includeTotalCount;
+	private String expectedQuery;
+	private String expectedParameterizedQuery;
+
+	@Parameterized.Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][]{
+				{"MySQL", false, "SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, "
+						+ "TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED FROM "
+						+ "%PREFIX%EXECUTION INNER JOIN (SELECT TASK_EXECUTION_ID FROM "
+						+ "%PREFIX%EXECUTION WHERE TASK_NAME = ? ORDER BY START_TIME DESC, "
+						+ "TASK_EXECUTION_ID DESC LIMIT 20, 10) TMP_PAGE USING "
+						+ "(TASK_EXECUTION_ID) ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC",
+						"LIMIT ?, ?) TMP_PAGE"},
+				{"PostgreSQL", false, "SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, "
+						+ "TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED FROM "
+						+ "%PREFIX%EXECUTION INNER JOIN (SELECT TASK_EXECUTION_ID FROM "
+						+ "%PREFIX%EXECUTION WHERE TASK_NAME = ? ORDER BY START_TIME DESC, "
+						+ "TASK_EXECUTION_ID DESC LIMIT 10 OFFSET 20) TMP_PAGE USING "
+						+ "(TASK_EXECUTION_ID) ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC",
+						"LIMIT ? OFFSET ?) TMP_PAGE"},
+				{"PostgreSQL", true, "SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, "
+						+ "TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED, TOTAL_COUNT FROM "
+						+ "%PREFIX%EXECUTION INNER JOIN (SELECT TASK_EXECUTION_ID, "
+						+ "COUNT(*) OVER () AS TOTAL_COUNT FROM "
+						+ "%PREFIX%EXECUTION WHERE TASK_NAME = ? ORDER BY START_TIME DESC, "
+						+ "TASK_EXECUTION_ID DESC LIMIT 10 OFFSET 20) TMP_PAGE USING "
+						+ "(TASK_EXECUTION_ID) ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC",
+						"LIMIT ? OFFSET ?) TMP_PAGE"},
+				{"H2", false, "SELECT LIMIT 20 10 TASK_EXECUTION_ID, START_TIME, "
+						+ "END_TIME, TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED "
+						+ "FROM %PREFIX%EXECUTION WHERE TASK_NAME = ? "
+						+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC",
+						"DESC LIMIT ? OFFSET ?"}
+		});
+	}
+
+	public DeferredJoinPagingQueryProviderTests(String databaseProductName,
+			boolean includeTotalCount, String expectedQuery, String expectedParameterizedQuery) {
+		this.databaseProductName = databaseProductName;
+		this.includeTotalCount = includeTotalCount;
+		this.expectedQuery = expectedQuery;
+		this.expectedParameterizedQuery = expectedParameterizedQuery;
+	}
+
+	@Test
+	public void testGeneratedQuery() throws Exception{
+		AbstractSqlPagingQueryProvider pagingQueryProvider = getPagingQueryProvider();
+		assertEquals(String.format(
+				"the generated query for %s, was not the expected query",
+				databaseProductName), expectedQuery,
+				pagingQueryProvider.getPageQuery(new PageRequest(2, 10)));
+	}
+
+	@Test
+	public void testGeneratedParameterizedQuery() throws Exception{
+		AbstractSqlPagingQueryProvider pagingQueryProvider = getPagingQueryProvider();
+		String actualQuery = pagingQueryProvider.getParameterizedPageQuery();
+		assertTrue(String.format(
+				"the generated query for %s, did not contain the paging parameters",
+				databaseProductName), actualQuery.contains(expectedParameterizedQuery));
+	}
+
+	private AbstractSqlPagingQueryProvider getPagingQueryProvider() throws Exception {
+		AbstractSqlPagingQueryProvider pagingQueryProvider = (AbstractSqlPagingQueryProvider)
+				TestDBUtils.getPagingQueryProvider(databaseProductName, "TASK_NAME = ?");
+		pagingQueryProvider.setIncludeTotalCount(includeTotalCount);
+		pagingQueryProvider.setDeferredJoinKey("TASK_EXECUTION_ID");
+		return pagingQueryProvider;
+	}
+}
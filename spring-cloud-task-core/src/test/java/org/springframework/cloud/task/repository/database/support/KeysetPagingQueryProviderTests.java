@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.database.support;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.springframework.cloud.task.repository.database.PagingQueryProvider;
+import org.springframework.cloud.task.util.TestDBUtils;
+
+/**
+ * Verifies the keyset page queries generated for each database type.
+ */
+@RunWith(Parameterized.class)
+public class KeysetPagingQueryProviderTests {
+
+	private static final Date START_TIME = new Date();
+
+	private static final Object[] ROW_VALUE_PARAMS = new Object[]{ START_TIME, 5L, 10 };
+
+	private static final Object[] EXPANDED_PARAMS = new Object[]{ START_TIME, START_TIME, 5L, 10 };
+
+	private String databaseProductName;
+	private String expectedQuery;
+	private Object[] expectedParams;
+
+	@Parameterized.Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][]{
+				{"Oracle", "SELECT * FROM (SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, "
+						+ "TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED "
+						+ "FROM %PREFIX%EXECUTION WHERE (TASK_NAME = ?) AND "
+						+ "(START_TIME < ? OR (START_TIME = ? AND TASK_EXECUTION_ID < ?)) "
+						+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC) "
+						+ "WHERE ROWNUM <= ?", EXPANDED_PARAMS},
+				{"HSQL Database Engine","SELECT TASK_EXECUTION_ID, "
+						+ "START_TIME, END_TIME, TASK_NAME, EXIT_CODE, EXIT_MESSAGE, "
+						+ "LAST_UPDATED FROM %PREFIX%EXECUTION WHERE (TASK_NAME = ?) AND "
+						+ "(START_TIME, TASK_EXECUTION_ID) < (?, ?) ORDER BY "
+						+ "START_TIME DESC, TASK_EXECUTION_ID DESC LIMIT ?", ROW_VALUE_PARAMS},
+				{"H2","SELECT TASK_EXECUTION_ID, "
+						+ "START_TIME, END_TIME, TASK_NAME, EXIT_CODE, EXIT_MESSAGE, "
+						+ "LAST_UPDATED FROM %PREFIX%EXECUTION WHERE (TASK_NAME = ?) AND "
+						+ "(START_TIME, TASK_EXECUTION_ID) < (?, ?) ORDER BY "
+						+ "START_TIME DESC, TASK_EXECUTION_ID DESC LIMIT ?", ROW_VALUE_PARAMS},
+				{"PostgreSQL","SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, "
+						+ "TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED "
+						+ "FROM %PREFIX%EXECUTION WHERE (TASK_NAME = ?) AND "
+						+ "(START_TIME, TASK_EXECUTION_ID) < (?, ?) "
+						+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC LIMIT ?",
+						ROW_VALUE_PARAMS},
+				{"MySQL","SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, TASK_NAME, "
+						+ "EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED FROM "
+						+ "%PREFIX%EXECUTION WHERE (TASK_NAME = ?) AND "
+						+ "(START_TIME < ? OR (START_TIME = ? AND TASK_EXECUTION_ID < ?)) "
+						+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC LIMIT ?",
+						EXPANDED_PARAMS}
+		});
+	}
+
+	public KeysetPagingQueryProviderTests(String databaseProductName, String expectedQuery,
+			Object[] expectedParams) {
+		this.databaseProductName = databaseProductName;
+		this.expectedQuery = expectedQuery;
+		this.expectedParams = expectedParams;
+	}
+
+	@Test
+	public void testGeneratedQuery() throws Exception{
+		PagingQueryProvider pagingQueryProvider =
+				TestDBUtils.getPagingQueryProvider(databaseProductName, "TASK_NAME = ?");
+		String actualQuery = pagingQueryProvider.getKeysetPageQuery();
+		assertEquals(String.format(
+				"the generated query for %s, was not the expected query",
+				databaseProductName), expectedQuery, actualQuery);
+	}
+
+	@Test
+	public void testGeneratedParameterValues() throws Exception{
+		PagingQueryProvider pagingQueryProvider =
+				TestDBUtils.getPagingQueryProvider(databaseProductName, "TASK_NAME = ?");
+		assertArrayEquals(String.format(
+				"the generated parameters for %s, were not the expected parameters",
+				databaseProductName), expectedParams,
+				pagingQueryProvider.getKeysetParameterValues(new Object[]{ START_TIME, 5L }, 10));
+	}
+}
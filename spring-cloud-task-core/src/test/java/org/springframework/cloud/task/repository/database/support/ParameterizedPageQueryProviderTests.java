@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.database.support;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.springframework.cloud.task.repository.database.PagingQueryProvider;
+import org.springframework.cloud.task.util.TestDBUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Verifies the parameterized page queries and their parameter values.
+ */
+@RunWith(Parameterized.class)
+public class ParameterizedPageQueryProviderTests {
+
+	private String databaseProductName;
+	private String expectedQuery;
+	private Object[] expectedParams;
+	private Pageable pageable = new PageRequest(2, 10);
+
+	@Parameterized.Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][]{
+				{"Oracle", "SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, TASK_NAME, "
+						+ "EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED FROM "
+						+ "(SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, TASK_NAME, "
+						+ "EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED, ROWNUM as "
+						+ "TMP_ROW_NUM FROM (SELECT TASK_EXECUTION_ID, START_TIME, "
+						+ "END_TIME, TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED "
+						+ "FROM %PREFIX%EXECUTION WHERE TASK_NAME = ? "
+						+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC) "
+						+ "WHERE ROWNUM < ?) WHERE TMP_ROW_NUM >= ?",
+						new Object[]{ 31, 21 }},
+				{"HSQL Database Engine","SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, "
+						+ "TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED "
+						+ "FROM %PREFIX%EXECUTION WHERE TASK_NAME = ? "
+						+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC LIMIT ? OFFSET ?",
+						new Object[]{ 10, 20 }},
+				{"H2","SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, "
+						+ "TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED "
+						+ "FROM %PREFIX%EXECUTION WHERE TASK_NAME = ? "
+						+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC LIMIT ? OFFSET ?",
+						new Object[]{ 10, 20 }},
+				{"PostgreSQL","SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, "
+						+ "TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED "
+						+ "FROM %PREFIX%EXECUTION WHERE TASK_NAME = ? "
+						+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC LIMIT ? OFFSET ?",
+						new Object[]{ 10, 20 }},
+				{"MySQL","SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, TASK_NAME, "
+						+ "EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED FROM "
+						+ "%PREFIX%EXECUTION WHERE TASK_NAME = ? "
+						+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC LIMIT ?, ?",
+						new Object[]{ 20, 10 }}
+		});
+	}
+
+	public ParameterizedPageQueryProviderTests(String databaseProductName,
+			String expectedQuery, Object[] expectedParams) {
+		this.databaseProductName = databaseProductName;
+		this.expectedQuery = expectedQuery;
+		this.expectedParams = expectedParams;
+	}
+
+	@Test
+	public void testGeneratedQuery() throws Exception{
+		PagingQueryProvider pagingQueryProvider =
+				TestDBUtils.getPagingQueryProvider(databaseProductName, "TASK_NAME = ?");
+		String actualQuery = pagingQueryProvider.getParameterizedPageQuery();
+		assertEquals(String.format(
+				"the generated query for %s, was not the expected query",
+				databaseProductName), expectedQuery, actualQuery);
+	}
+
+	@Test
+	public void testGeneratedParameterValues() throws Exception{
+		PagingQueryProvider pagingQueryProvider =
+				TestDBUtils.getPagingQueryProvider(databaseProductName, "TASK_NAME = ?");
+		assertArrayEquals(String.format(
+				"the generated parameters for %s, were not the expected parameters",
+				databaseProductName), expectedParams,
+				pagingQueryProvider.getPageParameterValues(pageable));
+	}
+}
@@ -17,18 +17,24 @@
 package org.springframework.cloud.task.repository.database.support;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
 
 import java.util.Map;
 import java.util.TreeMap;
 
+import javax.sql.DataSource;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.batch.item.database.Order;
 import org.springframework.cloud.task.repository.dao.JdbcTaskExecutionDao;
 import org.springframework.cloud.task.repository.database.PagingQueryProvider;
 import org.springframework.cloud.task.util.TestDBUtils;
+import org.springframework.data.domain.PageRequest;
 
 /**
  * @author Glenn Renfro
@@ -57,6 +63,31 @@ public class SqlPagingQueryProviderFactoryBeanTests {
 		assertThat(pagingQueryProvider, instanceOf(OraclePagingQueryProvider.class));
 	}
 
+	@Test
+	public void testOracle12DatabaseVersion() throws Exception{
+		DataSource dataSource = TestDBUtils.getMockDataSource("Oracle");
+		when(dataSource.getConnection().getMetaData().getDatabaseMajorVersion()).thenReturn(12);
+		factoryBean.setDataSource(dataSource);
+		PagingQueryProvider pagingQueryProvider = factoryBean.getObject();
+		assertThat(pagingQueryProvider, instanceOf(Oracle12PagingQueryProvider.class));
+		assertEquals("SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, TASK_NAME, "
+				+ "EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED FROM %PREFIX%EXECUTION "
+				+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC "
+				+ "OFFSET ? ROWS FETCH NEXT ? ROWS ONLY",
+				pagingQueryProvider.getParameterizedPageQuery());
+		assertArrayEquals(new Object[]{ 20, 10 },
+				pagingQueryProvider.getPageParameterValues(new PageRequest(2, 10)));
+	}
+
+	@Test
+	public void testOracle11DatabaseVersion() throws Exception{
+		DataSource dataSource = TestDBUtils.getMockDataSource("Oracle");
+		when(dataSource.getConnection().getMetaData().getDatabaseMajorVersion()).thenReturn(11);
+		factoryBean.setDataSource(dataSource);
+		PagingQueryProvider pagingQueryProvider = factoryBean.getObject();
+		assertEquals(OraclePagingQueryProvider.class, pagingQueryProvider.getClass());
+	}
+
 	@Test
 	public void testIsSingleton(){
 		assertTrue(factoryBean.isSingleton());
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.database.support;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.springframework.cloud.task.util.TestDBUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Verifies the page queries that retrieve the total count with the page.
+ */
+@RunWith(Parameterized.class)
+public class TotalCountPagingQueryProviderTests {
+
+	private String databaseProductName;
+	private String expectedQuery;
+	private Pageable pageable = new PageRequest(1, 10);
+
+	@Parameterized.Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][]{
+				{"Oracle", "SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, TASK_NAME, "
+						+ "EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED, TOTAL_COUNT FROM "
+						+ "(SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, TASK_NAME, "
+						+ "EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED, TOTAL_COUNT, ROWNUM as "
+						+ "TMP_ROW_NUM FROM (SELECT TASK_EXECUTION_ID, START_TIME, "
+						+ "END_TIME, TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED, "
+						+ "COUNT(*) OVER () AS TOTAL_COUNT FROM %PREFIX%EXECUTION WHERE "
+						+ "TASK_NAME = ? ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC) "
+						+ "WHERE ROWNUM < 21) WHERE TMP_ROW_NUM >= 11"},
+				{"PostgreSQL","SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, "
+						+ "TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED, "
+						+ "COUNT(*) OVER () AS TOTAL_COUNT FROM %PREFIX%EXECUTION "
+						+ "WHERE TASK_NAME = ? ORDER BY START_TIME DESC, "
+						+ "TASK_EXECUTION_ID DESC LIMIT 10 OFFSET 10"},
+				{"MySQL","SELECT TASK_EXECUTION_ID, START_TIME, END_TIME, TASK_NAME, "
+						+ "EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED, COUNT(*) OVER () AS "
+						+ "TOTAL_COUNT FROM %PREFIX%EXECUTION WHERE TASK_NAME = ? "
+						+ "ORDER BY START_TIME DESC, TASK_EXECUTION_ID DESC LIMIT 10, 10"}
+		});
+	}
+
+	public TotalCountPagingQueryProviderTests(String databaseProductName, String expectedQuery) {
+		this.databaseProductName = databaseProductName;
+		this.expectedQuery = expectedQuery;
+	}
+
+	@Test
+	public void testGeneratedQuery() throws Exception{
+		AbstractSqlPagingQueryProvider pagingQueryProvider = (AbstractSqlPagingQueryProvider)
+				TestDBUtils.getPagingQueryProvider(databaseProductName, "TASK_NAME = ?");
+		pagingQueryProvider.setIncludeTotalCount(true);
+		String actualQuery = pagingQueryProvider.getPageQuery(pageable);
+		assertEquals(String.format(
+				"the generated query for %s, was not the expected query",
+				databaseProductName), expectedQuery, actualQuery);
+	}
+
+}
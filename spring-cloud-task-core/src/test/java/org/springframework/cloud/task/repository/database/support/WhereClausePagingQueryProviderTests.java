@@ -50,8 +50,8 @@ public class WhereClausePagingQueryProviderTests {
 						+ "END_TIME, TASK_NAME, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED "
 						+ "FROM %PREFIX%EXECUTION "
 						+ "WHERE TASK_EXECUTION_ID = '0000' ORDER BY START_TIME DESC, "
-						+ "TASK_EXECUTION_ID DESC)) WHERE TMP_ROW_NUM >= 1 AND "
-						+ "TMP_ROW_NUM < 11"},
+						+ "TASK_EXECUTION_ID DESC) WHERE ROWNUM < 11) "
+						+ "WHERE TMP_ROW_NUM >= 1"},
 				{"HSQL Database Engine","SELECT LIMIT 0 10 TASK_EXECUTION_ID, "
 						+ "START_TIME, END_TIME, TASK_NAME, EXIT_CODE, EXIT_MESSAGE, "
 						+ "LAST_UPDATED FROM %PREFIX%EXECUTION "
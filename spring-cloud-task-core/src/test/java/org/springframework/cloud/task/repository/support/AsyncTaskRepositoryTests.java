@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.cloud.task.repository.dao.MapTaskExecutionDao;
+import org.springframework.cloud.task.util.TestVerifierUtils;
+
+/**
+ * Tests for the AsyncTaskRepository.
+ */
+public class AsyncTaskRepositoryTests {
+
+	private MapTaskExecutionDao taskExecutionDao;
+
+	private AsyncTaskRepository taskRepository;
+
+	@Before
+	public void setUp() {
+		taskExecutionDao = new MapTaskExecutionDao();
+		taskRepository = new AsyncTaskRepository(new SimpleTaskRepository(taskExecutionDao));
+	}
+
+	@After
+	public void tearDown() {
+		taskRepository.destroy();
+	}
+
+	@Test
+	public void testCreateAndUpdateAreWritten() {
+		TaskExecution expectedTaskExecution = TestVerifierUtils.createSampleTaskExecution(
+				taskRepository.getNextExecutionId());
+		taskRepository.createTaskExecution(expectedTaskExecution);
+		expectedTaskExecution.setEndTime(new Date());
+		expectedTaskExecution.setExitCode(5);
+		expectedTaskExecution.setExitMessage("exit message");
+		taskRepository.update(expectedTaskExecution);
+
+		assertTrue(taskRepository.flush(5000));
+		TestVerifierUtils.verifyTaskExecution(expectedTaskExecution,
+				taskExecutionDao.getTaskExecution(expectedTaskExecution.getExecutionId()));
+	}
+
+	@Test
+	public void testCreateAndUpdateAreCoalesced() throws Exception {
+		RecordingTaskRepository recordingTaskRepository = new RecordingTaskRepository();
+		AsyncTaskRepository asyncTaskRepository = new AsyncTaskRepository(recordingTaskRepository);
+		try {
+			asyncTaskRepository.createTaskExecution(TestVerifierUtils.createSampleTaskExecution(1));
+			assertTrue(recordingTaskRepository.writing.await(5, TimeUnit.SECONDS));
+
+			TaskExecution taskExecution = TestVerifierUtils.createSampleTaskExecution(2);
+			asyncTaskRepository.createTaskExecution(taskExecution);
+			taskExecution.setExitCode(7);
+			taskExecution.setEndTime(new Date());
+			asyncTaskRepository.update(taskExecution);
+
+			recordingTaskRepository.release.countDown();
+			assertTrue(asyncTaskRepository.flush(5000));
+			assertEquals(2, recordingTaskRepository.writes.size());
+			assertEquals("create 1", recordingTaskRepository.writes.get(0));
+			assertEquals("create 2", recordingTaskRepository.writes.get(1));
+			assertEquals(7, recordingTaskRepository.lastTaskExecution.getExitCode());
+		}
+		finally {
+			recordingTaskRepository.release.countDown();
+			asyncTaskRepository.destroy();
+		}
+	}
+
+	@Test
+	public void testDestroyFlushesPendingWrites() {
+		TaskExecution expectedTaskExecution = TestVerifierUtils.createSampleTaskExecution(
+				taskRepository.getNextExecutionId());
+		taskRepository.createTaskExecution(expectedTaskExecution);
+		taskRepository.destroy();
+		TestVerifierUtils.verifyTaskExecution(expectedTaskExecution,
+				taskExecutionDao.getTaskExecution(expectedTaskExecution.getExecutionId()));
+	}
+
+	@Test
+	public void testWritesAfterDestroyAreWrittenDirectly() {
+		taskRepository.destroy();
+		TaskExecution expectedTaskExecution = TestVerifierUtils.createSampleTaskExecution(
+				taskRepository.getNextExecutionId());
+		taskRepository.createTaskExecution(expectedTaskExecution);
+		TestVerifierUtils.verifyTaskExecution(expectedTaskExecution,
+				taskExecutionDao.getTaskExecution(expectedTaskExecution.getExecutionId()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCreateWithoutStartTime() {
+		taskRepository.createTaskExecution(new TaskExecution());
+	}
+
+	private static class RecordingTaskRepository implements TaskRepository {
+
+		private final CountDownLatch writing = new CountDownLatch(1);
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private final List<String> writes = Collections.synchronizedList(new ArrayList<String>());
+
+		private volatile TaskExecution lastTaskExecution;
+
+		@Override
+		public void update(TaskExecution taskExecution) {
+			record("update", taskExecution);
+		}
+
+		@Override
+		public void createTaskExecution(TaskExecution taskExecution) {
+			record("create", taskExecution);
+		}
+
+		@Override
+		public long getNextExecutionId() {
+			return 0;
+		}
+
+		private void record(String operation, TaskExecution taskExecution) {
+			writing.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			writes.add(operation + " " + taskExecution.getExecutionId());
+			lastTaskExecution = taskExecution;
+		}
+	}
+}
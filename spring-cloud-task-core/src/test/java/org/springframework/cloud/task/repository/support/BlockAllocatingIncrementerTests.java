@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+
+/**
+ * Tests for the BlockAllocatingIncrementer.
+ */
+public class BlockAllocatingIncrementerTests {
+
+	private SequenceIncrementer sequence;
+
+	@Before
+	public void setUp() {
+		sequence = new SequenceIncrementer();
+	}
+
+	@Test
+	public void testHiLoAllocation() {
+		BlockAllocatingIncrementer incrementer = new BlockAllocatingIncrementer(sequence, 10, 1);
+		for (long expected = 10; expected < 25; expected++) {
+			assertEquals(expected, incrementer.nextLongValue());
+		}
+		assertEquals(2, sequence.reads);
+	}
+
+	@Test
+	public void testPooledAllocation() {
+		sequence.increment = 5;
+		BlockAllocatingIncrementer incrementer = new BlockAllocatingIncrementer(sequence, 5, 5);
+		for (long expected = 1; expected < 13; expected++) {
+			assertEquals(expected, incrementer.nextLongValue());
+		}
+		assertEquals(3, sequence.reads);
+	}
+
+	@Test
+	public void testSingleIdBlocks() {
+		BlockAllocatingIncrementer incrementer = new BlockAllocatingIncrementer(sequence, 1, 1);
+		assertEquals(1, incrementer.nextLongValue());
+		assertEquals("2", incrementer.nextStringValue());
+		assertEquals(3, incrementer.nextIntValue());
+		assertEquals(3, sequence.reads);
+	}
+
+	@Test
+	public void testPooledAllocationToleratesReadsFromOtherProcesses() {
+		sequence.increment = 5;
+		BlockAllocatingIncrementer incrementer = new BlockAllocatingIncrementer(sequence, 5, 5);
+		assertEquals(1, incrementer.nextLongValue());
+		sequence.nextLongValue();
+		for (long expected = 2; expected < 11; expected++) {
+			assertEquals(expected, incrementer.nextLongValue());
+		}
+		assertEquals(16, incrementer.nextLongValue());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testPooledAllocationRejectsSequenceWithOtherIncrement() {
+		BlockAllocatingIncrementer incrementer = new BlockAllocatingIncrementer(sequence, 5, 5);
+		incrementer.nextLongValue();
+	}
+
+	@Test
+	public void testHiLoAllocatorsWithTheSameBlockSizeShareASequence() {
+		BlockAllocatingIncrementer first = new BlockAllocatingIncrementer(sequence, 10, 1);
+		BlockAllocatingIncrementer second = new BlockAllocatingIncrementer(sequence, 10, 1);
+		Set<Long> ids = new HashSet<>();
+		for (int i = 0; i < 50; i++) {
+			assertTrue(ids.add(first.nextLongValue()));
+			assertTrue(ids.add(second.nextLongValue()));
+		}
+	}
+
+	/**
+	 * A hi/lo allocator and an allocator reading the sequence for every id cannot
+	 * share a sequence, which is why every writer must use the same block size.
+	 */
+	@Test
+	public void testHiLoAndPlainAllocatorsSharingASequenceCollide() {
+		BlockAllocatingIncrementer hiLo = new BlockAllocatingIncrementer(sequence, 10, 1);
+		BlockAllocatingIncrementer plain = new BlockAllocatingIncrementer(sequence, 1, 1);
+		Set<Long> ids = new HashSet<>();
+		boolean collision = false;
+		for (int i = 0; i < 50; i++) {
+			collision |= !ids.add(hiLo.nextLongValue());
+			collision |= !ids.add(plain.nextLongValue());
+		}
+		assertTrue(collision);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBlockSizeMustMatchSequenceIncrement() {
+		new BlockAllocatingIncrementer(sequence, 10, 5);
+	}
+
+	private static class SequenceIncrementer implements DataFieldMaxValueIncrementer {
+
+		private long value = 1;
+
+		private long increment = 1;
+
+		private int reads;
+
+		@Override
+		public int nextIntValue() throws DataAccessException {
+			return (int) nextLongValue();
+		}
+
+		@Override
+		public long nextLongValue() throws DataAccessException {
+			reads++;
+			long result = value;
+			value += increment;
+			return result;
+		}
+
+		@Override
+		public String nextStringValue() throws DataAccessException {
+			return String.valueOf(nextLongValue());
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.cloud.task.repository.dao.MapTaskExecutionDao;
+import org.springframework.cloud.task.util.TestVerifierUtils;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Tests for the CachingTaskExplorer and CacheInvalidatingTaskRepository.
+ */
+public class CachingTaskExplorerTests {
+
+	private TaskExplorer delegate;
+
+	private CachingTaskExplorer taskExplorer;
+
+	private TaskRepository taskRepository;
+
+	@Before
+	public void setUp() {
+		MapTaskExecutionDao dao = new MapTaskExecutionDao();
+		delegate = spy(new SimpleTaskExplorer(dao));
+		taskExplorer = new CachingTaskExplorer(delegate);
+		taskRepository = new CacheInvalidatingTaskRepository(new SimpleTaskRepository(dao),
+				taskExplorer);
+	}
+
+	@Test
+	public void testCompletedExecutionIsCached() {
+		TaskExecution expectedTaskExecution = TestVerifierUtils.createSampleTaskExecution(1);
+		taskRepository.createTaskExecution(expectedTaskExecution);
+
+		TestVerifierUtils.verifyTaskExecution(expectedTaskExecution,
+				taskExplorer.getTaskExecution(1));
+		TestVerifierUtils.verifyTaskExecution(expectedTaskExecution,
+				taskExplorer.getTaskExecution(1));
+		verify(delegate, times(1)).getTaskExecution(1);
+	}
+
+	@Test
+	public void testBulkLookupOnlyFetchesUncachedExecutions() {
+		taskRepository.createTaskExecution(TestVerifierUtils.createSampleTaskExecution(1));
+		taskRepository.createTaskExecution(TestVerifierUtils.createSampleTaskExecution(2));
+		taskRepository.createTaskExecution(createRunningTaskExecution(3));
+		taskExplorer.getTaskExecution(1);
+
+		List<TaskExecution> taskExecutions = taskExplorer.getTaskExecutions(
+				Arrays.asList(3L, 2L, 1L, 4L));
+		assertEquals(3, taskExecutions.size());
+		assertEquals(3, taskExecutions.get(0).getExecutionId());
+		assertEquals(2, taskExecutions.get(1).getExecutionId());
+		assertEquals(1, taskExecutions.get(2).getExecutionId());
+		verify(delegate).getTaskExecutions(Arrays.asList(3L, 2L, 4L));
+
+		taskExplorer.getTaskExecutions(Arrays.asList(1L, 2L, 3L));
+		verify(delegate).getTaskExecutions(Arrays.asList(3L));
+	}
+
+	@Test
+	public void testRunningExecutionIsNotCached() {
+		taskRepository.createTaskExecution(createRunningTaskExecution(1));
+
+		taskExplorer.getTaskExecution(1);
+		taskExplorer.getTaskExecution(1);
+		verify(delegate, times(2)).getTaskExecution(1);
+	}
+
+	@Test
+	public void testUnknownExecutionIsNotCached() {
+		assertNull(taskExplorer.getTaskExecution(1));
+		assertNull(taskExplorer.getTaskExecution(1));
+		verify(delegate, times(2)).getTaskExecution(1);
+	}
+
+	@Test
+	public void testCountsAreCachedUntilWrite() {
+		taskRepository.createTaskExecution(createRunningTaskExecution(1));
+		assertEquals(1, taskExplorer.getTaskExecutionCountByTaskName("foo"));
+		assertEquals(1, taskExplorer.getTaskExecutionCountByTaskName("foo"));
+		verify(delegate, times(1)).getTaskExecutionCountByTaskName("foo");
+
+		taskRepository.createTaskExecution(createRunningTaskExecution(2));
+		assertEquals(2, taskExplorer.getTaskExecutionCountByTaskName("foo"));
+		verify(delegate, times(2)).getTaskExecutionCountByTaskName("foo");
+	}
+
+	@Test
+	public void testRunningExecutionsAreCachedUntilWrite() {
+		TaskExecution taskExecution = createRunningTaskExecution(1);
+		taskRepository.createTaskExecution(taskExecution);
+		PageRequest pageRequest = new PageRequest(0, 10);
+		assertEquals(1, taskExplorer.findRunningTaskExecutions("foo", pageRequest)
+				.getNumberOfElements());
+		assertEquals(1, taskExplorer.findRunningTaskExecutions("foo", pageRequest)
+				.getNumberOfElements());
+		verify(delegate, times(1)).findRunningTaskExecutions("foo", pageRequest);
+
+		taskExecution.setEndTime(new Date());
+		taskRepository.update(taskExecution);
+		assertEquals(0, taskExplorer.findRunningTaskExecutions("foo", pageRequest)
+				.getNumberOfElements());
+	}
+
+	@Test
+	public void testCachedResultsAreNotSharedBetweenCallers() {
+		taskRepository.createTaskExecution(createRunningTaskExecution(1));
+		PageRequest pageRequest = new PageRequest(0, 10);
+		taskExplorer.findRunningTaskExecutions("foo", pageRequest).getContent().get(0)
+				.setTaskName("bar");
+		assertEquals("foo", taskExplorer.findRunningTaskExecutions("foo", pageRequest)
+				.getContent().get(0).getTaskName());
+		verify(delegate, times(1)).findRunningTaskExecutions("foo", pageRequest);
+
+		try {
+			taskExplorer.getTaskNames().clear();
+			fail("Expected the task names to be unmodifiable");
+		}
+		catch (UnsupportedOperationException e) {
+			assertEquals(Arrays.asList("foo"), taskExplorer.getTaskNames());
+		}
+	}
+
+	@Test
+	public void testResultRetrievedDuringEvictionIsNotCached() {
+		taskRepository.createTaskExecution(createRunningTaskExecution(1));
+		doAnswer(new Answer<Long>() {
+			@Override
+			public Long answer(InvocationOnMock invocation) throws Throwable {
+				Long count = (Long) invocation.callRealMethod();
+				taskExplorer.evict(1);
+				return count;
+			}
+		}).when(delegate).getTaskExecutionCount();
+
+		assertEquals(1, taskExplorer.getTaskExecutionCount());
+		assertEquals(1, taskExplorer.getTaskExecutionCount());
+		verify(delegate, times(2)).getTaskExecutionCount();
+	}
+
+	@Test
+	public void testZeroTimeToLiveDisablesCaching() {
+		taskExplorer.setTaskNamesTimeToLive(0);
+		taskExplorer.getTaskNames();
+		taskExplorer.getTaskNames();
+		verify(delegate, times(2)).getTaskNames();
+	}
+
+	@Test
+	public void testExpiredResultIsReloaded() throws Exception {
+		taskExplorer.setCountTimeToLive(1);
+		taskExplorer.getTaskExecutionCount();
+		Thread.sleep(10);
+		taskExplorer.getTaskExecutionCount();
+		verify(delegate, times(2)).getTaskExecutionCount();
+	}
+
+	@Test
+	public void testLeastRecentlyUsedExecutionIsEvicted() {
+		taskExplorer.setMaxCompletedExecutions(1);
+		taskRepository.createTaskExecution(TestVerifierUtils.createSampleTaskExecution(1));
+		taskRepository.createTaskExecution(TestVerifierUtils.createSampleTaskExecution(2));
+		taskExplorer.getTaskExecution(1);
+		taskExplorer.getTaskExecution(2);
+		taskExplorer.getTaskExecution(1);
+		verify(delegate, times(2)).getTaskExecution(1);
+	}
+
+	private TaskExecution createRunningTaskExecution(long executionId) {
+		return new TaskExecution(executionId, 0, "foo", new Date(), null, null,
+				new ArrayList<String>());
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.springframework.batch.item.database.Order;
+import org.springframework.cloud.task.repository.dao.JdbcTaskExecutionDao;
+import org.springframework.cloud.task.repository.database.PagingQueryProvider;
+import org.springframework.cloud.task.repository.database.support.Oracle12PagingQueryProvider;
+import org.springframework.cloud.task.repository.database.support.SqlPagingQueryProviderFactoryBean;
+import org.springframework.cloud.task.util.TestDBUtils;
+
+/**
+ * Tests for {@link DatabaseDialect}.
+ */
+public class DatabaseDialectTests {
+
+	@Test
+	public void testFromMetaData() throws Exception {
+		DataSource dataSource = TestDBUtils.getMockDataSource("PostgreSQL");
+		DatabaseDialect dialect = DatabaseDialect.fromMetaData(dataSource);
+		assertEquals(DatabaseType.POSTGRES, dialect.getDatabaseType());
+		assertEquals("postgresql", dialect.getPlatform());
+	}
+
+	@Test
+	public void testResolve() throws Exception {
+		DataSource dataSource = TestDBUtils.getMockDataSource("MySQL");
+		assertEquals(DatabaseType.MYSQL, DatabaseDialect.resolve(dataSource).getDatabaseType());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testResolveWithoutMetaData() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenThrow(new SQLException("unavailable"));
+		DatabaseDialect.resolve(dataSource);
+	}
+
+	@Test
+	public void testPlatform() {
+		assertEquals("hsqldb", new DatabaseDialect(DatabaseType.HSQL, null, 2).getPlatform());
+		assertEquals("oracle10g", new DatabaseDialect(DatabaseType.ORACLE, null, 12).getPlatform());
+		assertEquals("mysql", new DatabaseDialect(DatabaseType.MYSQL, null, 5).getPlatform());
+		assertEquals("h2", new DatabaseDialect(DatabaseType.H2, null, 1).getPlatform());
+	}
+
+	@Test
+	public void testCapabilities() {
+		assertTrue(new DatabaseDialect(DatabaseType.ORACLE, null, 12).isOffsetFetchSupported());
+		assertFalse(new DatabaseDialect(DatabaseType.ORACLE, null, 11).isOffsetFetchSupported());
+		assertTrue(new DatabaseDialect(DatabaseType.MYSQL, null, 8).isTotalCountSupported());
+		assertFalse(new DatabaseDialect(DatabaseType.MYSQL, null, 5).isTotalCountSupported());
+		assertTrue(new DatabaseDialect(DatabaseType.H2, "1.4.200 (2019-10-14)", 1).isTotalCountSupported());
+		assertFalse(new DatabaseDialect(DatabaseType.H2, "1.4.190 (2015-10-11)", 1).isTotalCountSupported());
+	}
+
+	@Test
+	public void testPagingQueryProviderUsesDialectWithoutMetaData() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		Map<String, Order> sortKeys = new TreeMap<>();
+		sortKeys.put("TASK_EXECUTION_ID", Order.DESCENDING);
+		SqlPagingQueryProviderFactoryBean factoryBean = new SqlPagingQueryProviderFactoryBean();
+		factoryBean.setSelectClause(JdbcTaskExecutionDao.SELECT_CLAUSE);
+		factoryBean.setFromClause(JdbcTaskExecutionDao.FROM_CLAUSE);
+		factoryBean.setSortKeys(sortKeys);
+		factoryBean.setDataSource(dataSource);
+		factoryBean.setDatabaseDialect(new DatabaseDialect(DatabaseType.ORACLE, null, 12));
+		PagingQueryProvider pagingQueryProvider = factoryBean.getObject();
+		assertTrue(pagingQueryProvider instanceof Oracle12PagingQueryProvider);
+		verifyZeroInteractions(dataSource);
+	}
+
+}
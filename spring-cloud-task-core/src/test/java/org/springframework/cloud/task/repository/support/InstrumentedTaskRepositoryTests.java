@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.cloud.task.repository.TaskMetricsRecorder;
+import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.cloud.task.repository.dao.MapTaskExecutionDao;
+import org.springframework.cloud.task.util.TestVerifierUtils;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Tests for the InstrumentedTaskRepository and InstrumentedTaskExplorer.
+ */
+public class InstrumentedTaskRepositoryTests {
+
+	private RecordingTaskMetricsRecorder metricsRecorder;
+
+	private TaskRepository taskRepository;
+
+	private TaskExplorer taskExplorer;
+
+	@Before
+	public void setUp() {
+		MapTaskExecutionDao dao = new MapTaskExecutionDao();
+		metricsRecorder = new RecordingTaskMetricsRecorder();
+		taskRepository = new InstrumentedTaskRepository(new SimpleTaskRepository(dao),
+				metricsRecorder);
+		taskExplorer = new InstrumentedTaskExplorer(new SimpleTaskExplorer(dao),
+				metricsRecorder);
+	}
+
+	@Test
+	public void testRepositoryOperationsAreRecorded() {
+		TaskExecution taskExecution = TestVerifierUtils.createSampleTaskExecution(
+				taskRepository.getNextExecutionId());
+		taskRepository.createTaskExecution(taskExecution);
+		taskRepository.update(taskExecution);
+
+		assertEquals(3, metricsRecorder.records.size());
+		verifyRecord(0, "getNextExecutionId", null, true);
+		verifyRecord(1, "createTaskExecution", taskExecution.getTaskName(), true);
+		verifyRecord(2, "update", taskExecution.getTaskName(), true);
+	}
+
+	@Test
+	public void testFailedOperationIsRecorded() {
+		try {
+			taskRepository.createTaskExecution(new TaskExecution());
+			fail("Expected the create to fail");
+		}
+		catch (IllegalArgumentException e) {
+			assertEquals(1, metricsRecorder.records.size());
+			verifyRecord(0, "createTaskExecution", null, false);
+		}
+	}
+
+	@Test
+	public void testExplorerOperationsAreRecorded() {
+		TaskExecution taskExecution = TestVerifierUtils.createSampleTaskExecution(1);
+		taskRepository.createTaskExecution(taskExecution);
+		metricsRecorder.records.clear();
+
+		taskExplorer.getTaskExecution(1);
+		taskExplorer.findTaskExecutionsByName(taskExecution.getTaskName(), new PageRequest(0, 10));
+		taskExplorer.getTaskNames();
+
+		assertEquals(3, metricsRecorder.records.size());
+		verifyRecord(0, "getTaskExecution", taskExecution.getTaskName(), true);
+		verifyRecord(1, "findTaskExecutionsByName", taskExecution.getTaskName(), true);
+		verifyRecord(2, "getTaskNames", null, true);
+	}
+
+	private void verifyRecord(int index, String operation, String taskName, boolean success) {
+		String[] record = metricsRecorder.records.get(index);
+		assertEquals(operation, record[0]);
+		assertEquals(taskName, record[1]);
+		assertEquals("MapTaskExecutionDao", record[2]);
+		assertEquals(String.valueOf(success), record[3]);
+	}
+
+	private static class RecordingTaskMetricsRecorder implements TaskMetricsRecorder {
+
+		private final List<String[]> records = new ArrayList<>();
+
+		@Override
+		public void record(String operation, String taskName, String daoType,
+				long durationNanos, boolean success) {
+			assertTrue(durationNanos >= 0);
+			records.add(new String[]{ operation, taskName, daoType, String.valueOf(success) });
+		}
+	}
+}
@@ -270,6 +270,63 @@ public class SimpleTaskExplorerTests {
 		verifyPageResults(pageable, 0);
 	}
 
+	@Test
+	public void findAllAfterExecutions() {
+		verifyKeysetResults(5, 23);
+	}
+
+	@Test
+	public void findAllAfterExecutionsOnBoundry() {
+		verifyKeysetResults(5, 20);
+	}
+
+	@Test
+	public void findTaskExecutionsByNameAfter() {
+		final String TASK_NAME = "FOOBAR";
+		createSampleDataSet(7);
+		Map<Long, TaskExecution> expectedResults = new HashMap<>();
+		for (int i = 7; i < 19; i++) {
+			TaskExecution taskExecution = TestVerifierUtils.createSampleTaskExecution(i);
+			taskExecution.setTaskName(TASK_NAME);
+			dao.saveTaskExecution(taskExecution);
+			expectedResults.put(taskExecution.getExecutionId(), taskExecution);
+		}
+		List<TaskExecution> page = taskExplorer.findTaskExecutionsByNameAfter(TASK_NAME, null, 0, 5);
+		List<Long> actualIds = new ArrayList<>();
+		while (!page.isEmpty()) {
+			for (TaskExecution taskExecution : page) {
+				assertEquals(String.format("taskName for taskExecution is incorrect for testType %s",
+						testType), TASK_NAME, taskExecution.getTaskName());
+				actualIds.add(taskExecution.getExecutionId());
+			}
+			TaskExecution last = page.get(page.size() - 1);
+			page = taskExplorer.findTaskExecutionsByNameAfter(TASK_NAME, last.getStartTime(),
+					last.getExecutionId(), 5);
+		}
+		assertEquals(String.format("keyset results were not in the expected order for testType %s",
+				testType), getSortedOfTaskExecIds(expectedResults), actualIds);
+	}
+
+	private void verifyKeysetResults(int pageSize, int totalNumberOfExecs) {
+		Map<Long, TaskExecution> expectedResults = createSampleDataSet(totalNumberOfExecs);
+		List<Long> sortedExecIds = getSortedOfTaskExecIds(expectedResults);
+		List<Long> actualIds = new ArrayList<>();
+		List<TaskExecution> page = taskExplorer.findAllAfter(null, 0, pageSize);
+		while (!page.isEmpty()) {
+			assertTrue("page was larger than requested", page.size() <= pageSize);
+			for (TaskExecution actualExecution : page) {
+				TestVerifierUtils.verifyTaskExecution(
+						expectedResults.get(actualExecution.getExecutionId()),
+						actualExecution);
+				actualIds.add(actualExecution.getExecutionId());
+			}
+			TaskExecution last = page.get(page.size() - 1);
+			page = taskExplorer.findAllAfter(last.getStartTime(), last.getExecutionId(), pageSize);
+		}
+		assertEquals(String.format("keyset results were not in the expected order for testType %s",
+				testType), sortedExecIds, actualIds);
+	}
+
 	private void verifyPageResults(Pageable pageable, int totalNumberOfExecs) {
 		Map<Long, TaskExecution> expectedResults = createSampleDataSet(totalNumberOfExecs);
 		List<Long> sortedExecIds = getSortedOfTaskExecIds(expectedResults);
@@ -18,9 +18,14 @@ package org.springframework.cloud.task.repository.support;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+
 import javax.sql.DataSource;
 
 import org.junit.After;
@@ -31,12 +36,22 @@ import org.junit.rules.ExpectedException;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.boot.autoconfigure.PropertyPlaceholderAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.EmbeddedDataSourceConfiguration;
+import org.springframework.boot.test.EnvironmentTestUtils;
 import org.springframework.cloud.task.configuration.SimpleTaskConfiguration;
 import org.springframework.cloud.task.configuration.TestConfiguration;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.TaskExplorer;
+import org.springframework.cloud.task.repository.TaskRepository;
+import org.springframework.cloud.task.repository.dao.JdbcTaskExecutionDao;
 import org.springframework.cloud.task.repository.dao.MapTaskExecutionDao;
+import org.springframework.cloud.task.util.TestVerifierUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 
 /**
  * Verifies that task initialization occurs properly.
@@ -96,6 +111,154 @@ public class TaskDatabaseInitializerTests {
 		this.context.refresh();
 	}
 
+	@Test
+	public void testExplorerDataSourceContext() throws Exception {
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.register( SimpleTaskConfiguration.class,
+				EmbeddedDataSourceConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.cloud.task.explorer-datasource:replicaDataSource");
+		EmbeddedDatabase replicaDataSource = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.setName("replica")
+				.addScript("classpath:org/springframework/cloud/task/schema-h2.sql")
+				.build();
+		context.getBeanFactory().registerSingleton("replicaDataSource", replicaDataSource);
+		try {
+			this.context.refresh();
+			TaskExecution taskExecution = TestVerifierUtils.createSampleTaskExecution(
+					this.context.getBean(TaskRepository.class).getNextExecutionId());
+			this.context.getBean(TaskRepository.class).createTaskExecution(taskExecution);
+			assertEquals(1, new JdbcTemplate(this.context.getBean("dataSource", DataSource.class))
+					.queryForList("select * from TASK_EXECUTION where TASK_EXECUTION_ID = ?",
+							taskExecution.getExecutionId()).size());
+			assertNull(this.context.getBean(TaskExplorer.class).getTaskExecution(
+					taskExecution.getExecutionId()));
+		}
+		finally {
+			replicaDataSource.shutdown();
+		}
+	}
+
+	@Test
+	public void testMultipleDataSourcesBesidesExplorerContext() throws Exception {
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.register( SimpleTaskConfiguration.class,
+				EmbeddedDataSourceConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.cloud.task.explorer-datasource:replicaDataSource");
+		context.getBeanFactory().registerSingleton("replicaDataSource", mock(DataSource.class));
+		context.getBeanFactory().registerSingleton("mockDataSource", mock(DataSource.class));
+		this.expected.expect(BeanCreationException.class);
+		this.expected.expectMessage("found 2 [dataSource, mockDataSource]");
+		this.context.refresh();
+	}
+
+	@Test
+	public void testSchemaVersionIsRecorded() throws Exception {
+		EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.setName("versionRecorded")
+				.build();
+		try {
+			TaskDatabaseInitializer.initializeDatabase(dataSource, new DefaultResourceLoader());
+			TaskDatabaseInitializer.initializeDatabase(dataSource, new DefaultResourceLoader());
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+			assertEquals(Arrays.asList(TaskDatabaseInitializer.SCHEMA_VERSION),
+					jdbcTemplate.queryForList("select VERSION from TASK_SCHEMA_VERSION", Integer.class));
+			assertEquals(0, jdbcTemplate.queryForList("select * from TASK_EXECUTION").size());
+		}
+		finally {
+			dataSource.shutdown();
+		}
+	}
+
+	@Test
+	public void testSchemaWithoutVersionIsMigrated() throws Exception {
+		EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.setName("versionMissing")
+				.build();
+		try {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+			jdbcTemplate.execute("CREATE TABLE TASK_EXECUTION (TASK_EXECUTION_ID BIGINT NOT NULL "
+					+ "PRIMARY KEY, START_TIME TIMESTAMP, END_TIME TIMESTAMP, TASK_NAME VARCHAR(100), "
+					+ "EXIT_CODE INTEGER, EXIT_MESSAGE VARCHAR(2500), LAST_UPDATED TIMESTAMP)");
+			jdbcTemplate.execute("CREATE TABLE TASK_EXECUTION_PARAMS (TASK_EXECUTION_ID BIGINT "
+					+ "NOT NULL, TASK_PARAM VARCHAR(250))");
+			jdbcTemplate.execute("CREATE INDEX TASK_EXEC_START_IX ON TASK_EXECUTION (START_TIME)");
+			jdbcTemplate.execute("CREATE SEQUENCE TASK_SEQ");
+			jdbcTemplate.update("INSERT INTO TASK_EXECUTION (TASK_EXECUTION_ID, START_TIME, "
+					+ "TASK_NAME) VALUES (1, CURRENT_TIMESTAMP, 'foo')");
+
+			TaskDatabaseInitializer.initializeDatabase(dataSource, new DefaultResourceLoader());
+			assertEquals(Arrays.asList(1, 2, 3, 4), jdbcTemplate.queryForList(
+					"select VERSION from TASK_SCHEMA_VERSION order by VERSION", Integer.class));
+			assertEquals(0, jdbcTemplate.queryForList("select * from TASK_EXECUTION_ARCHIVE").size());
+			assertEquals(0, jdbcTemplate.queryForList("select * from TASK_SUMMARY").size());
+		}
+		finally {
+			dataSource.shutdown();
+		}
+	}
+
+	@Test
+	public void testSchemaBehindIsMigrated() throws Exception {
+		EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.setName("versionBehind")
+				.addScript("classpath:org/springframework/cloud/task/schema-h2.sql")
+				.build();
+		try {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+			jdbcTemplate.execute("DROP TABLE TASK_SUMMARY");
+			jdbcTemplate.update("UPDATE TASK_SCHEMA_VERSION SET VERSION = 3");
+
+			TaskDatabaseInitializer.initializeDatabase(dataSource, new DefaultResourceLoader());
+			assertEquals(Arrays.asList(3, 4), jdbcTemplate.queryForList(
+					"select VERSION from TASK_SCHEMA_VERSION order by VERSION", Integer.class));
+			assertEquals(0, jdbcTemplate.queryForList("select * from TASK_SUMMARY").size());
+		}
+		finally {
+			dataSource.shutdown();
+		}
+	}
+
+	@Test
+	public void testSummaryEnabledAfterMigration() throws Exception {
+		EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.setName("summaryEnabledLater")
+				.addScript("classpath:org/springframework/cloud/task/schema-h2.sql")
+				.build();
+		try {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+			jdbcTemplate.execute("DROP TABLE TASK_SUMMARY");
+			jdbcTemplate.update("UPDATE TASK_SCHEMA_VERSION SET VERSION = 3");
+			JdbcTaskExecutionDao dao = new JdbcTaskExecutionDao(dataSource);
+			dao.saveTaskExecution(new TaskExecution(1, 0, "foo", new Date(1000), null, null,
+					new ArrayList<String>()));
+
+			TaskDatabaseInitializer.initializeDatabase(dataSource, new DefaultResourceLoader());
+			dao.saveTaskExecution(new TaskExecution(2, 0, "foo", new Date(2000), null, null,
+					new ArrayList<String>()));
+			dao.saveTaskExecution(new TaskExecution(3, 0, "bar", new Date(3000), null, null,
+					new ArrayList<String>()));
+
+			JdbcTaskExecutionDao summaryDao = new JdbcTaskExecutionDao(dataSource);
+			summaryDao.setUseSummaryTable(true);
+			assertEquals(2, summaryDao.getTaskExecutionCountByTaskName("foo"));
+			assertEquals(2, summaryDao.getRunningTaskExecutionCountByTaskName("foo"));
+			assertEquals(1, summaryDao.getTaskExecutionCountByTaskName("bar"));
+			assertEquals(Arrays.asList("bar", "foo"), summaryDao.getTaskNames());
+		}
+		finally {
+			dataSource.shutdown();
+		}
+	}
+
 	@Configuration
 	public static class EmptyConfiguration {}
 }
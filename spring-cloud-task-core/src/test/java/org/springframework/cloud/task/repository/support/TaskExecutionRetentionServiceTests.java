@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.task.repository.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.task.repository.TaskExecution;
+import org.springframework.cloud.task.repository.dao.MapTaskExecutionDao;
+
+/**
+ * Tests for the TaskExecutionRetentionService.
+ */
+public class TaskExecutionRetentionServiceTests {
+
+	private static final long DAY = 24 * 60 * 60 * 1000L;
+
+	private MapTaskExecutionDao taskExecutionDao;
+
+	private TaskExecutionRetentionService retentionService;
+
+	@Before
+	public void setUp() {
+		taskExecutionDao = new MapTaskExecutionDao();
+		retentionService = new TaskExecutionRetentionService(taskExecutionDao);
+		retentionService.setChunkSize(2);
+	}
+
+	@Test
+	public void testNoPolicies() {
+		createTaskExecution(1, "foo", 10, true);
+		assertEquals(0, retentionService.purge());
+		assertEquals(1, taskExecutionDao.getTaskExecutionCount());
+	}
+
+	@Test
+	public void testPurgeByAge() {
+		for (int i = 0; i < 5; i++) {
+			createTaskExecution(i, "foo", 10 + i, true);
+		}
+		createTaskExecution(5, "foo", 20, false);
+		createTaskExecution(6, "bar", 1, true);
+		retentionService.setMaxAge(5 * DAY);
+
+		assertEquals(5, retentionService.purge());
+		assertEquals(2, taskExecutionDao.getTaskExecutionCount());
+		assertNotNull("running executions must be retained", taskExecutionDao.getTaskExecution(5));
+		assertNotNull(taskExecutionDao.getTaskExecution(6));
+	}
+
+	@Test
+	public void testPurgeByCount() {
+		for (int i = 0; i < 5; i++) {
+			createTaskExecution(i, "foo", 10 - i, true);
+		}
+		createTaskExecution(5, "foo", 20, false);
+		createTaskExecution(6, "bar", 1, true);
+		retentionService.setMaxExecutionsPerTaskName(2);
+
+		assertEquals(3, retentionService.purge());
+		assertEquals(3, taskExecutionDao.getTaskExecutionCountByTaskName("foo"));
+		assertNotNull(taskExecutionDao.getTaskExecution(3));
+		assertNotNull(taskExecutionDao.getTaskExecution(4));
+		assertNotNull("running executions must be retained", taskExecutionDao.getTaskExecution(5));
+		assertEquals(1, taskExecutionDao.getTaskExecutionCountByTaskName("bar"));
+	}
+
+	@Test
+	public void testPurgeArchives() {
+		createTaskExecution(1, "foo", 10, true);
+		createTaskExecution(2, "foo", 1, true);
+		retentionService.setMaxAge(5 * DAY);
+		retentionService.setArchive(true);
+
+		assertEquals(1, retentionService.purge());
+		assertNull(taskExecutionDao.getTaskExecution(1));
+		assertNotNull(taskExecutionDao.getArchivedTaskExecutions().get(1L));
+		assertEquals(1, taskExecutionDao.getArchivedTaskExecutions().size());
+	}
+
+	private void createTaskExecution(long executionId, String taskName, int daysAgo,
+			boolean completed) {
+		Date startTime = new Date(System.currentTimeMillis() - daysAgo * DAY);
+		taskExecutionDao.saveTaskExecution(new TaskExecution(executionId, 0, taskName,
+				startTime, completed ? startTime : null, null, new ArrayList<String>()));
+	}
+}
@@ -17,15 +17,20 @@
 package org.springframework.cloud.task.repository.support;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import javax.sql.DataSource;
 
 import org.junit.Test;
+import org.springframework.cloud.task.repository.TaskExplorer;
 import org.springframework.cloud.task.repository.TaskRepository;
 import org.springframework.cloud.task.repository.dao.JdbcTaskExecutionDao;
 import org.springframework.cloud.task.repository.dao.MapTaskExecutionDao;
+import org.springframework.cloud.task.repository.dao.TaskExecutionDao;
 import org.springframework.cloud.task.util.TestDBUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * Tests that the TaskRepositoryFactoryBeans produce the correct repositories.
@@ -45,6 +50,53 @@ public class TaskRepositoryFactoryBeanTests {
 				instanceOf(JdbcTaskExecutionDao.class));
 	}
 
+	@Test
+	public void testJdbcTaskRepositoryFactoryBeanAppliesParameterBatchSize() throws Exception {
+		DataSource dataSource = TestDBUtils.getMockDataSource("HSQL Database Engine");
+		JdbcTaskRepositoryFactoryBean factory = new JdbcTaskRepositoryFactoryBean(dataSource);
+		factory.setParameterBatchSize(25);
+		TaskExecutionDao dao = ((SimpleTaskRepository) factory.getObject()).getTaskExecutionDao();
+		assertEquals(25, ReflectionTestUtils.getField(dao, "parameterBatchSize"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testJdbcTaskRepositoryFactoryBeanRejectsConflictingIdBlockSize() throws Exception {
+		DataSource dataSource = TestDBUtils.getMockDataSource("PostgreSQL");
+		JdbcTaskRepositoryFactoryBean factory = new JdbcTaskRepositoryFactoryBean(dataSource);
+		factory.setSequenceIncrement(50);
+		factory.setIdBlockSize(20);
+		factory.getObject();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testJdbcTaskRepositoryFactoryBeanRejectsSequenceIncrementOnTableSequence() throws Exception {
+		DataSource dataSource = TestDBUtils.getMockDataSource("MySQL");
+		JdbcTaskRepositoryFactoryBean factory = new JdbcTaskRepositoryFactoryBean(dataSource);
+		factory.setSequenceIncrement(50);
+		factory.getObject();
+	}
+
+	@Test
+	public void testJdbcTaskExplorerFactoryBeanAppliesCountWithPageQuery() throws Exception {
+		DataSource dataSource = TestDBUtils.getMockDataSource("HSQL Database Engine");
+		JdbcTaskExplorerFactoryBean factory = new JdbcTaskExplorerFactoryBean(dataSource);
+		factory.setCountWithPageQuery(true);
+		TaskExplorer explorer = factory.getObject();
+		assertThat(explorer, instanceOf(SimpleTaskExplorer.class));
+		TaskExecutionDao dao = ((SimpleTaskExplorer) explorer).getTaskExecutionDao();
+		assertThat(dao, instanceOf(JdbcTaskExecutionDao.class));
+		assertTrue((Boolean) ReflectionTestUtils.getField(dao, "countWithPageQuery"));
+	}
+
+	@Test
+	public void testJdbcTaskExplorerFactoryBeanAppliesFetchSize() throws Exception {
+		DataSource dataSource = TestDBUtils.getMockDataSource("HSQL Database Engine");
+		JdbcTaskExplorerFactoryBean factory = new JdbcTaskExplorerFactoryBean(dataSource);
+		factory.setFetchSize(Integer.MIN_VALUE);
+		TaskExecutionDao dao = ((SimpleTaskExplorer) factory.getObject()).getTaskExecutionDao();
+		assertEquals(Integer.MIN_VALUE, ReflectionTestUtils.getField(dao, "fetchSize"));
+	}
+
 	@Test
 	public void testMapTaskRepositoryFactoryBean() {
 		MapTaskRepositoryFactoryBean factory = new MapTaskRepositoryFactoryBean();
@@ -28,6 +28,7 @@ import org.springframework.cloud.task.repository.support.SimpleTaskNameResolver;
 import org.springframework.cloud.task.repository.support.SimpleTaskRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 /**
  * Initializes the beans needed to test default task behavior.
@@ -42,6 +43,9 @@ public class TestDefaultConfiguration {
 	@Autowired(required = false)
 	private ApplicationArguments applicationArguments;
 
+	@Autowired
+	private Environment environment;
+
 	public TestDefaultConfiguration() {
 		this.dao = new MapTaskExecutionDao();
 	}
@@ -58,7 +62,11 @@ public class TestDefaultConfiguration {
 
 	@Bean
 	public TaskLifecycleListener taskHandler(){
-		return new TaskLifecycleListener(taskRepository(), taskNameResolver(), applicationArguments);
+		TaskLifecycleListener taskLifecycleListener = new TaskLifecycleListener(taskRepository(),
+				taskNameResolver(), applicationArguments);
+		taskLifecycleListener.setDeferredStart(environment.getProperty(
+				"spring.cloud.task.deferred-start", Boolean.class, false));
+		return taskLifecycleListener;
 	}
 
 	@Bean